@@ -0,0 +1,70 @@
+package br.com.devisrael.helpdesk.benchmark;
+
+import br.com.devisrael.helpdesk.api.dto.TicketListItem;
+import br.com.devisrael.helpdesk.api.entity.Priority;
+import br.com.devisrael.helpdesk.api.entity.Profile;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import br.com.devisrael.helpdesk.api.entity.User;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(Profile profile) {
+        var user = new User();
+        user.setId(new ObjectId().toHexString());
+        user.setEmail(profile.name().toLowerCase() + "@helpdesk.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3PMJYxY0eZp3ZAYj9hHm0bK");
+        user.setProfile(profile);
+        return user;
+    }
+
+    static List<Ticket> tickets(int count) {
+        var customer = user(Profile.ROLE_COSTUMER);
+        var technician = user(Profile.ROLE_TECHNICIAN);
+        var statuses = Status.values();
+        var priorities = Priority.values();
+        var tickets = new ArrayList<Ticket>(count);
+        for (int i = 0; i < count; i++) {
+            var ticket = new Ticket();
+            ticket.setId(new ObjectId().toHexString());
+            ticket.setNumber(i + 1);
+            ticket.setTitle("Printer on the second floor is not working #" + i);
+            ticket.setDescription("The printer shows a paper jam error even after the tray was emptied and reloaded.");
+            ticket.setDate(new Date());
+            ticket.setStatus(statuses[i % statuses.length]);
+            ticket.setPriority(priorities[i % priorities.length]);
+            ticket.setUser(customer);
+            ticket.setAssignedUser(ticket.getStatus() != Status.NEW ? technician : null);
+            ticket.setVersion((long) i % 4);
+            tickets.add(ticket);
+        }
+        return tickets;
+    }
+
+    static List<TicketListItem> listItems(List<Ticket> tickets) {
+        var items = new ArrayList<TicketListItem>(tickets.size());
+        for (Ticket ticket : tickets) {
+            var item = new TicketListItem();
+            item.setId(ticket.getId());
+            item.setNumber(ticket.getNumber());
+            item.setTitle(ticket.getTitle());
+            item.setStatus(ticket.getStatus());
+            item.setPriority(ticket.getPriority());
+            item.setDate(ticket.getDate());
+            if (ticket.getAssignedUser() != null) {
+                item.setAssignedUserId(ticket.getAssignedUser().getId());
+                item.setAssignedUserEmail(ticket.getAssignedUser().getEmail());
+            }
+            items.add(item);
+        }
+        return items;
+    }
+}
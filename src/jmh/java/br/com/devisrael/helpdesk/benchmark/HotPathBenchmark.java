@@ -0,0 +1,56 @@
+package br.com.devisrael.helpdesk.benchmark;
+
+import br.com.devisrael.helpdesk.api.dto.Summary;
+import br.com.devisrael.helpdesk.api.entity.Profile;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import br.com.devisrael.helpdesk.api.entity.User;
+import br.com.devisrael.helpdesk.security.JwtUser;
+import br.com.devisrael.helpdesk.security.JwtUserFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotPathBenchmark {
+
+    private static final String[] STATUS_NAMES = {"New", "Assigned", "Resolved", "Approved", "Disapproved", "Closed"};
+
+    private Map<String, Long> counters;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        counters = new HashMap<>();
+        var amount = 1L;
+        for (Status status : Status.values()) {
+            counters.put(status.name(), amount * 1000);
+            amount++;
+        }
+        user = BenchmarkFixtures.user(Profile.ROLE_COSTUMER);
+    }
+
+    @Benchmark
+    public void getStatus(Blackhole blackhole) {
+        for (String name : STATUS_NAMES) {
+            blackhole.consume(Status.getStatus(name));
+        }
+    }
+
+    @Benchmark
+    public Summary summaryFromCounters() {
+        return Summary.fromCounters(counters);
+    }
+
+    @Benchmark
+    public JwtUser createJwtUser() {
+        return JwtUserFactory.create(user);
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.devisrael.helpdesk.benchmark;
+
+import br.com.devisrael.helpdesk.api.entity.Profile;
+import br.com.devisrael.helpdesk.security.JwtTokenUtil;
+import br.com.devisrael.helpdesk.security.JwtUser;
+import br.com.devisrael.helpdesk.security.JwtUserFactory;
+import br.com.devisrael.helpdesk.security.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenUtilBenchmark {
+
+    private JwtTokenUtil jwtTokenUtil;
+    private JwtUser user;
+    private String token;
+    private VerifiedToken verifiedToken;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtil = new JwtTokenUtil();
+        ReflectionTestUtils.setField(jwtTokenUtil, "secret", "helpDesk_klay");
+        ReflectionTestUtils.setField(jwtTokenUtil, "expiration", 604800L);
+        ReflectionTestUtils.setField(jwtTokenUtil, "meterRegistry", new SimpleMeterRegistry());
+        jwtTokenUtil.init();
+        user = JwtUserFactory.create(BenchmarkFixtures.user(Profile.ROLE_TECHNICIAN));
+        token = jwtTokenUtil.generateToken(user);
+        verifiedToken = jwtTokenUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtTokenUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public VerifiedToken parse() {
+        return jwtTokenUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public Boolean validate() {
+        return jwtTokenUtil.validateToken(verifiedToken, user);
+    }
+
+    @Benchmark
+    public Boolean parseAndValidate() {
+        return jwtTokenUtil.validateToken(jwtTokenUtil.parseToken(token), user);
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.devisrael.helpdesk.benchmark;
+
+import br.com.devisrael.helpdesk.api.dto.TicketListItem;
+import br.com.devisrael.helpdesk.api.entity.Response;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({"json", "json-gzip", "json-deflate", "smile", "smile-gzip", "cbor"})
+    private String encoding;
+
+    @Param({"10", "50", "200"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Response<Page<Ticket>> ticketPage;
+    private Response<Page<TicketListItem>> listItemPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = mapper(encoding);
+        var tickets = BenchmarkFixtures.tickets(pageSize);
+        var pageable = PageRequest.of(0, pageSize);
+        ticketPage = new Response<>();
+        ticketPage.setData(new PageImpl<>(tickets, pageable, pageSize * 20L));
+        listItemPage = new Response<>();
+        listItemPage.setData(new PageImpl<>(BenchmarkFixtures.listItems(tickets), pageable, pageSize * 20L));
+        System.out.printf("%n[wire size] encoding=%s pageSize=%d ticketPage=%d bytes listItemPage=%d bytes%n",
+                encoding, pageSize, encode(ticketPage).length, encode(listItemPage).length);
+    }
+
+    @Benchmark
+    public byte[] ticketPage() throws IOException {
+        return encode(ticketPage);
+    }
+
+    @Benchmark
+    public byte[] listItemPage() throws IOException {
+        return encode(listItemPage);
+    }
+
+    private byte[] encode(Object value) throws IOException {
+        var bytes = new ByteArrayOutputStream(8192);
+        try (var out = compress(bytes)) {
+            objectMapper.writeValue(out, value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private OutputStream compress(ByteArrayOutputStream bytes) throws IOException {
+        if (encoding.endsWith("-gzip")) {
+            return new GZIPOutputStream(bytes);
+        }
+        if (encoding.endsWith("-deflate")) {
+            return new DeflaterOutputStream(bytes);
+        }
+        return bytes;
+    }
+
+    private static ObjectMapper mapper(String encoding) {
+        if (encoding.startsWith("smile")) {
+            return Jackson2ObjectMapperBuilder.smile().build();
+        }
+        if (encoding.startsWith("cbor")) {
+            return Jackson2ObjectMapperBuilder.cbor().build();
+        }
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.devisrael.helpdesk.benchmark;
+
+import br.com.devisrael.helpdesk.api.dto.TicketListItem;
+import br.com.devisrael.helpdesk.api.entity.Response;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"10", "50", "200"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Response<Page<Ticket>> ticketPage;
+    private Response<Page<TicketListItem>> listItemPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        var tickets = BenchmarkFixtures.tickets(pageSize);
+        var pageable = PageRequest.of(0, pageSize);
+        ticketPage = new Response<>();
+        ticketPage.setData(new PageImpl<>(tickets, pageable, pageSize * 20L));
+        listItemPage = new Response<>();
+        listItemPage.setData(new PageImpl<>(BenchmarkFixtures.listItems(tickets), pageable, pageSize * 20L));
+    }
+
+    @Benchmark
+    public byte[] ticketPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ticketPage);
+    }
+
+    @Benchmark
+    public byte[] listItemPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(listItemPage);
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.devisrael.helpdesk.api.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+
+    private long imported;
+    private long failed;
+    private List<LineError> errors = new ArrayList<>();
+
+    public void addImported(long count) {
+        imported += count;
+    }
+
+    public void addError(long line, String message, int limit) {
+        failed++;
+        if (errors.size() < limit) {
+            errors.add(new LineError(line, message));
+        }
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<LineError> getErrors() {
+        return errors;
+    }
+
+    public static class LineError {
+
+        private long line;
+        private String message;
+
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.devisrael.helpdesk.api.dto;
+
+public class QueryShape {
+
+    private String collection;
+    private String command;
+    private String shape;
+    private long count;
+    private double totalMillis;
+    private double maxMillis;
+
+    public QueryShape(String collection, String command, String shape, long count, double totalMillis, double maxMillis) {
+        this.collection = collection;
+        this.command = command;
+        this.shape = shape;
+        this.count = count;
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public String getShape() {
+        return shape;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public double getMeanMillis() {
+        return count > 0 ? totalMillis / count : 0;
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.devisrael.helpdesk.api.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public class SlicePage<T> {
+
+    private List<T> content;
+    private int number;
+    private int size;
+    private boolean hasNext;
+    private Long estimatedTotal;
+
+    public SlicePage(Slice<T> slice) {
+        this.content = slice.getContent();
+        this.number = slice.getNumber();
+        this.size = slice.getSize();
+        this.hasNext = slice.hasNext();
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public Long getEstimatedTotal() {
+        return estimatedTotal;
+    }
+
+    public void setEstimatedTotal(Long estimatedTotal) {
+        this.estimatedTotal = estimatedTotal;
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.devisrael.helpdesk.api.dto;
+
+import br.com.devisrael.helpdesk.api.entity.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StatusChangeReport {
+
+    private Status status;
+    private long changed;
+    private long rejected;
+    private List<TicketResult> results = new ArrayList<>();
+
+    public StatusChangeReport(Status status) {
+        this.status = status;
+    }
+
+    public void changed(String id) {
+        changed++;
+        results.add(new TicketResult(id, Outcome.CHANGED, status));
+    }
+
+    public void conflict(String id, Status current) {
+        rejected++;
+        results.add(new TicketResult(id, Outcome.CONFLICT, current));
+    }
+
+    public void notFound(String id) {
+        rejected++;
+        results.add(new TicketResult(id, Outcome.NOT_FOUND, null));
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getChanged() {
+        return changed;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public List<TicketResult> getResults() {
+        return results;
+    }
+
+    public enum Outcome {
+        CHANGED, CONFLICT, NOT_FOUND
+    }
+
+    public static class TicketResult {
+
+        private String id;
+        private Outcome outcome;
+        private Status status;
+
+        public TicketResult(String id, Outcome outcome, Status status) {
+            this.id = id;
+            this.outcome = outcome;
+            this.status = status;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package br.com.devisrael.helpdesk.api.dto;
 
+import br.com.devisrael.helpdesk.api.entity.Status;
+
 import java.io.Serializable;
+import java.util.Map;
 
 public class Summary implements Serializable {
 
@@ -12,6 +15,21 @@ public class Summary implements Serializable {
     private Integer amountAssigned;
     private Integer amountClosed;
 
+    public static Summary fromCounters(Map<String, Long> counters) {
+        var summary = new Summary();
+        summary.setAmountNew(amount(counters, Status.NEW));
+        summary.setAmountResolved(amount(counters, Status.RESOLVED));
+        summary.setAmountApproved(amount(counters, Status.APPROVED));
+        summary.setAmountDisapproved(amount(counters, Status.DISAPPROVED));
+        summary.setAmountAssigned(amount(counters, Status.ASSIGNED));
+        summary.setAmountClosed(amount(counters, Status.CLOSED));
+        return summary;
+    }
+
+    private static Integer amount(Map<String, Long> counters, Status status) {
+        return counters.getOrDefault(status.name(), 0L).intValue();
+    }
+
     public Integer getAmountNew() {
         return amountNew;
     }
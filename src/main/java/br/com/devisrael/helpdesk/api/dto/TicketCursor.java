@@ -0,0 +1,42 @@
+package br.com.devisrael.helpdesk.api.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+public class TicketCursor {
+
+    private final Date date;
+    private final String id;
+
+    public TicketCursor(Date date, String id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    public Date getDate() {
+        return date;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String encode() {
+        var raw = date.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TicketCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separator = raw.indexOf(':');
+            return new TicketCursor(new Date(Long.parseLong(raw.substring(0, separator))), raw.substring(separator + 1));
+        } catch (RuntimeException exception) {
+            throw new IllegalArgumentException("Cursor invalid: " + cursor);
+        }
+    }
+}
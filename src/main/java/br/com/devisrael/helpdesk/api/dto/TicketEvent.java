@@ -0,0 +1,108 @@
+package br.com.devisrael.helpdesk.api.dto;
+
+import br.com.devisrael.helpdesk.api.entity.Priority;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TicketEvent {
+
+    private Type type;
+    private String ticketId;
+    private Integer number;
+    private String title;
+    private Status status;
+    private Status previousStatus;
+    private Priority priority;
+    private Long version;
+    private Map<Status, Long> summaryDelta;
+    private String ownerId;
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public void setTicketId(String ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    public Integer getNumber() {
+        return number;
+    }
+
+    public void setNumber(Integer number) {
+        this.number = number;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Status getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public void setPreviousStatus(Status previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Map<Status, Long> getSummaryDelta() {
+        return summaryDelta;
+    }
+
+    public void setSummaryDelta(Map<Status, Long> summaryDelta) {
+        this.summaryDelta = summaryDelta;
+    }
+
+    @JsonIgnore
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public enum Type {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED, SUMMARY
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.devisrael.helpdesk.api.dto;
+
+import br.com.devisrael.helpdesk.api.entity.Priority;
+import br.com.devisrael.helpdesk.api.entity.Status;
+
+import java.util.Date;
+import java.util.Objects;
+
+public class TicketFilter {
+
+    private Integer number;
+    private String title;
+    private Status status;
+    private Priority priority;
+    private String userId;
+    private String assignedUserId;
+    private Date dateFrom;
+    private Date dateTo;
+
+    public static TicketFilter fromParameters(String title, String status, String priority) {
+        var filter = new TicketFilter();
+        if (title != null && !title.isEmpty()) {
+            filter.setTitle(title);
+        }
+        if (status != null && !status.isEmpty()) {
+            filter.setStatus(Status.getStatus(status));
+        }
+        if (priority != null && !priority.isEmpty()) {
+            filter.setPriority(Priority.valueOf(priority.toUpperCase()));
+        }
+        return filter;
+    }
+
+    public Integer getNumber() {
+        return number;
+    }
+
+    public void setNumber(Integer number) {
+        this.number = number;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getAssignedUserId() {
+        return assignedUserId;
+    }
+
+    public void setAssignedUserId(String assignedUserId) {
+        this.assignedUserId = assignedUserId;
+    }
+
+    public Date getDateFrom() {
+        return dateFrom;
+    }
+
+    public void setDateFrom(Date dateFrom) {
+        this.dateFrom = dateFrom;
+    }
+
+    public Date getDateTo() {
+        return dateTo;
+    }
+
+    public void setDateTo(Date dateTo) {
+        this.dateTo = dateTo;
+    }
+
+    public boolean isEmpty() {
+        return number == null && title == null && status == null && priority == null && userId == null && assignedUserId == null
+                && dateFrom == null && dateTo == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TicketFilter that = (TicketFilter) o;
+        return Objects.equals(number, that.number) && Objects.equals(title, that.title) && status == that.status && priority == that.priority
+                && Objects.equals(userId, that.userId) && Objects.equals(assignedUserId, that.assignedUserId)
+                && Objects.equals(dateFrom, that.dateFrom) && Objects.equals(dateTo, that.dateTo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(number, title, status, priority, userId, assignedUserId, dateFrom, dateTo);
+    }
+}
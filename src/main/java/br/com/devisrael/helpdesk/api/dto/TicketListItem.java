@@ -0,0 +1,82 @@
+package br.com.devisrael.helpdesk.api.dto;
+
+import br.com.devisrael.helpdesk.api.entity.Priority;
+import br.com.devisrael.helpdesk.api.entity.Status;
+
+import java.util.Date;
+
+public class TicketListItem {
+
+    private String id;
+    private Integer number;
+    private String title;
+    private Status status;
+    private Priority priority;
+    private Date date;
+    private String assignedUserId;
+    private String assignedUserEmail;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Integer getNumber() {
+        return number;
+    }
+
+    public void setNumber(Integer number) {
+        this.number = number;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public Date getDate() {
+        return date;
+    }
+
+    public void setDate(Date date) {
+        this.date = date;
+    }
+
+    public String getAssignedUserId() {
+        return assignedUserId;
+    }
+
+    public void setAssignedUserId(String assignedUserId) {
+        this.assignedUserId = assignedUserId;
+    }
+
+    public String getAssignedUserEmail() {
+        return assignedUserEmail;
+    }
+
+    public void setAssignedUserEmail(String assignedUserEmail) {
+        this.assignedUserEmail = assignedUserEmail;
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.devisrael.helpdesk.api.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document
+public class Sequence {
+
+    public static final String TICKET_NUMBER = "ticketNumber";
+
+    @Id
+    private String id;
+
+    private Long value;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getValue() {
+        return value;
+    }
+
+    public void setValue(Long value) {
+        this.value = value;
+    }
+}
@@ -1,5 +1,8 @@
 package br.com.devisrael.helpdesk.api.entity;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum Status {
 
     NEW,
@@ -9,6 +12,30 @@ public enum Status {
     DISAPPROVED,
     CLOSED;
 
+    public Set<Status> next() {
+        return switch (this) {
+            case NEW, DISAPPROVED -> EnumSet.of(ASSIGNED);
+            case ASSIGNED -> EnumSet.of(RESOLVED);
+            case RESOLVED -> EnumSet.of(APPROVED, DISAPPROVED);
+            case APPROVED -> EnumSet.of(CLOSED);
+            case CLOSED -> EnumSet.noneOf(Status.class);
+        };
+    }
+
+    public boolean canTransitionTo(Status target) {
+        return next().contains(target);
+    }
+
+    public static Set<Status> sourcesOf(Status target) {
+        var sources = EnumSet.noneOf(Status.class);
+        for (Status status : values()) {
+            if (status.canTransitionTo(target)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
+
     public static Status getStatus(String status) {
         return switch (status) {
             case "Resolved" -> RESOLVED;
@@ -0,0 +1,43 @@
+package br.com.devisrael.helpdesk.api.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Map;
+
+@Document
+public class SummaryCounter {
+
+    public static final String TICKET_STATUS = "ticketStatus";
+
+    @Id
+    private String id;
+
+    private Map<String, Long> counters;
+
+    private Long version;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public void setCounters(Map<String, Long> counters) {
+        this.counters = counters;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
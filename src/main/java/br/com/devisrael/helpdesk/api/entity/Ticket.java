@@ -2,6 +2,7 @@ package br.com.devisrael.helpdesk.api.entity;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -30,6 +31,11 @@ public class Ticket {
 
     private String image;
 
+    private String imageId;
+
+    @Version
+    private Long version;
+
     private Priority priority;
 
     private Status status;
@@ -101,6 +107,22 @@ public class Ticket {
         this.image = image;
     }
 
+    public String getImageId() {
+        return imageId;
+    }
+
+    public void setImageId(String imageId) {
+        this.imageId = imageId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Priority getPriority() {
         return priority;
     }
@@ -0,0 +1,34 @@
+package br.com.devisrael.helpdesk.controller;
+
+import br.com.devisrael.helpdesk.api.dto.QueryShape;
+import br.com.devisrael.helpdesk.repository.QueryShapeRecorder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Endpoint(id = "queryshapes")
+public class QueryShapeEndpoint {
+
+    @Autowired
+    private QueryShapeRecorder queryShapeRecorder;
+
+    @Value("${mongo.query-shapes.top}")
+    private int defaultLimit;
+
+    @ReadOperation
+    public List<QueryShape> topShapes(@Nullable Integer limit) {
+        return queryShapeRecorder.topShapes(limit != null && limit > 0 ? limit : defaultLimit);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        queryShapeRecorder.reset();
+    }
+}
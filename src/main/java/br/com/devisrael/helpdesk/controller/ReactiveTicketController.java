@@ -0,0 +1,500 @@
+package br.com.devisrael.helpdesk.controller;
+
+import br.com.devisrael.helpdesk.api.dto.CursorPage;
+import br.com.devisrael.helpdesk.api.dto.ImportReport;
+import br.com.devisrael.helpdesk.api.dto.SlicePage;
+import br.com.devisrael.helpdesk.api.dto.StatusChangeReport;
+import br.com.devisrael.helpdesk.api.dto.Summary;
+import br.com.devisrael.helpdesk.api.dto.TicketEvent;
+import br.com.devisrael.helpdesk.api.dto.TicketFilter;
+import br.com.devisrael.helpdesk.api.dto.TicketListItem;
+import br.com.devisrael.helpdesk.api.entity.*;
+import br.com.devisrael.helpdesk.security.JwtUser;
+import br.com.devisrael.helpdesk.service.AttachmentService;
+import br.com.devisrael.helpdesk.service.CountService;
+import br.com.devisrael.helpdesk.service.ReactiveTicketService;
+import br.com.devisrael.helpdesk.service.TicketConflictException;
+import br.com.devisrael.helpdesk.service.TicketExportService;
+import br.com.devisrael.helpdesk.service.TicketFeedService;
+import br.com.devisrael.helpdesk.service.TicketVersionRequiredException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@org.springframework.context.annotation.Profile("reactive")
+@RequestMapping("/api/ticket")
+@CrossOrigin(origins = "*")
+public class ReactiveTicketController {
+
+    @Autowired
+    private ReactiveTicketService ticketService;
+
+    @Autowired
+    private CountService countService;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private TicketFeedService ticketFeedService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${ticket.image.max-age}")
+    private long imageMaxAge;
+
+    @Value("${ticket.history.limit}")
+    private int historyLimit;
+
+    @Value("${ticket.import.max-line-size}")
+    private DataSize importMaxLineSize;
+
+    @Value("${ticket.status.bulk-limit}")
+    private int bulkLimit;
+
+    @Value("${ticket.page.max-count}")
+    private int pageMaxCount;
+
+    @Value("${ticket.feed.heartbeat}")
+    private Duration feedHeartbeat;
+
+    @PostMapping()
+    @PreAuthorize("hasAnyRole('CUSTOMER')")
+    public Mono<ResponseEntity<Response<Ticket>>> create(@AuthenticationPrincipal JwtUser principal, @RequestBody Ticket ticket) {
+        var response = new Response<Ticket>();
+        if (ticket.getTitle() == null) {
+            response.getErros().add("Title no information");
+            return Mono.just(ResponseEntity.badRequest().body(response));
+        }
+        ticket.setStatus(Status.getStatus("New"));
+        ticket.setUser(userFromPrincipal(principal));
+        ticket.setDate(new Date());
+        return ticketService.nextTicketNumber()
+                .flatMap(number -> {
+                    ticket.setNumber(number);
+                    return ticketService.createOrUpdate(ticket);
+                })
+                .map(ticketPersisted -> ok(response, ticketPersisted))
+                .onErrorResume(e -> Mono.just(badRequest(response, e)));
+    }
+
+    @PostMapping(value = "import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('COSTUMER','ADMIN')")
+    public Mono<ResponseEntity<Response<ImportReport>>> importTickets(@AuthenticationPrincipal JwtUser principal,
+                                                                      @RequestBody Flux<DataBuffer> body) {
+        var response = new Response<ImportReport>();
+        var decoder = StringDecoder.allMimeTypes();
+        decoder.setMaxInMemorySize((int) importMaxLineSize.toBytes());
+        var lines = decoder.decode(body, ResolvableType.forClass(String.class), null, null);
+        return ticketService.importTickets(lines, userFromPrincipal(principal))
+                .map(report -> ok(response, report))
+                .onErrorResume(e -> Mono.just(badRequest(response, e)));
+    }
+
+    public User userFromPrincipal(JwtUser principal) {
+        var user = new User();
+        user.setId(principal.getId());
+        user.setEmail(principal.getUsername());
+        user.setProfile(Profile.valueOf(principal.getAuthorities().iterator().next().getAuthority()));
+        return user;
+    }
+
+    @PutMapping()
+    @PreAuthorize("hasAnyRole('CUSTOMER')")
+    public Mono<ResponseEntity<Response<Ticket>>> update(@RequestBody Ticket ticket) {
+        var response = new Response<Ticket>();
+        if (ticket.getId() == null) {
+            response.getErros().add("Id no information");
+            return Mono.just(ResponseEntity.badRequest().body(response));
+        }
+        if (ticket.getTitle() == null) {
+            response.getErros().add("Title no information");
+            return Mono.just(ResponseEntity.badRequest().body(response));
+        }
+        return ticketService.findById(ticket.getId())
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("No value present")))
+                .flatMap(ticketCurrent -> {
+                    ticket.setStatus(ticketCurrent.getStatus());
+                    ticket.setUser(ticketCurrent.getUser());
+                    ticket.setDate(ticketCurrent.getDate());
+                    ticket.setNumber(ticketCurrent.getNumber());
+                    if (ticketCurrent.getAssignedUser() != null) {
+                        ticket.setAssignedUser(ticketCurrent.getAssignedUser());
+                    }
+                    return ticketService.createOrUpdate(ticket);
+                })
+                .map(ticketPersisted -> ok(response, ticketPersisted))
+                .onErrorResume(TicketVersionRequiredException.class, e -> Mono.just(status(HttpStatus.PRECONDITION_REQUIRED, response, e)))
+                .onErrorResume(OptimisticLockingFailureException.class, e -> Mono.just(conflict(response, e)))
+                .onErrorResume(e -> Mono.just(badRequest(response, e)));
+    }
+
+    @GetMapping(value = "{id}")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public Mono<ResponseEntity<Response<Ticket>>> findById(@PathVariable("id") String id, ServerWebExchange exchange) {
+        var response = new Response<Ticket>();
+        var ticketResponse = ticketService.findById(id)
+                .flatMap(ticket -> ticketService.listChangeStatus(ticket.getId(), 0, historyLimit)
+                        .map(changes -> {
+                            ticket.setChanges(changes);
+                            response.setData(ticket);
+                            return revalidated(ticket.getVersion()).body(response);
+                        }))
+                .switchIfEmpty(Mono.fromSupplier(() -> registerNotFound(response, id)));
+        return ticketService.findVersion(id)
+                .filter(version -> exchange.checkNotModified(String.valueOf(version)))
+                .map(version -> notModified(version).<Response<Ticket>>build())
+                .switchIfEmpty(ticketResponse);
+    }
+
+    @GetMapping(value = "{id}/changes/{page}/{count}")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public Mono<ResponseEntity<Response<List<Change>>>> findChanges(@PathVariable("id") String id,
+                                                                    @PathVariable int page,
+                                                                    @PathVariable int count) {
+        var response = new Response<List<Change>>();
+        if (!validPage(page, count, response)) {
+            return Mono.just(ResponseEntity.badRequest().body(response));
+        }
+        return ticketService.listChangeStatus(id, page, count).map(changes -> ok(response, changes));
+    }
+
+    @GetMapping(value = "{id}/image")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public Mono<ResponseEntity<Resource>> findImage(@PathVariable("id") String id) {
+        return ticketService.findImageId(id)
+                .flatMap(imageId -> Mono.fromCallable(() -> attachmentService.findImage(imageId))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .<ResponseEntity<Resource>>map(image -> ResponseEntity.ok()
+                        .eTag(image.getId())
+                        .lastModified(image.lastModified())
+                        .cacheControl(CacheControl.maxAge(imageMaxAge, TimeUnit.SECONDS).cachePrivate())
+                        .contentType(MediaType.parseMediaType(image.getContentType()))
+                        .body(image))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping(value = "/{id}")
+    @PreAuthorize("hasAnyRole('CUSTOMER')")
+    public Mono<ResponseEntity<Response<String>>> delete(@PathVariable("id") String id) {
+        var response = new Response<String>();
+        return ticketService.delete(id)
+                .map(deleted -> deleted ? ResponseEntity.ok(new Response<String>()) : registerNotFound(response, id));
+    }
+
+    @GetMapping(value = "{page}/{count}")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public Mono<ResponseEntity<Response<Page<TicketListItem>>>> findAll(@AuthenticationPrincipal JwtUser principal,
+                                                                        @PathVariable int page,
+                                                                        @PathVariable int count) {
+        var response = new Response<Page<TicketListItem>>();
+        var userRequest = userFromPrincipal(principal);
+        Mono<Page<TicketListItem>> tickets = Mono.empty();
+        if (userRequest.getProfile().equals(Profile.ROLE_TECHNICIAN)) {
+            tickets = ticketService.listTickets(page, count);
+        } else if (userRequest.getProfile().equals(Profile.ROLE_COSTUMER)) {
+            tickets = ticketService.findByCurrentUser(page, count, userRequest.getId());
+        }
+        return tickets.map(result -> ok(response, result)).defaultIfEmpty(ResponseEntity.ok(response));
+    }
+
+    @GetMapping(value = "cursor/{count}")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public Mono<ResponseEntity<Response<CursorPage<TicketListItem>>>> findByCursor(@AuthenticationPrincipal JwtUser principal,
+                                                                                   @PathVariable int count,
+                                                                                   @RequestParam(required = false) String cursor,
+                                                                                   @RequestParam(required = false) String status,
+                                                                                   @RequestParam(required = false) String priority,
+                                                                                   @RequestParam(defaultValue = "false") boolean assigned) {
+        var response = new Response<CursorPage<TicketListItem>>();
+        if (!validCount(count, response)) {
+            return Mono.just(ResponseEntity.badRequest().body(response));
+        }
+        return Mono.defer(() -> ticketService.listTicketsByCursor(ticketFilter(userFromPrincipal(principal), status, priority, assigned), cursor, count))
+                .map(tickets -> ok(response, tickets))
+                .onErrorResume(e -> Mono.just(badRequest(response, e)));
+    }
+
+    @GetMapping(value = "slice/{page}/{count}")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public Mono<ResponseEntity<Response<SlicePage<TicketListItem>>>> findSlice(@AuthenticationPrincipal JwtUser principal,
+                                                                               @PathVariable int page,
+                                                                               @PathVariable int count,
+                                                                               @RequestParam(required = false) String title,
+                                                                               @RequestParam(required = false) String status,
+                                                                               @RequestParam(required = false) String priority,
+                                                                               @RequestParam(defaultValue = "false") boolean assigned,
+                                                                               @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        var response = new Response<SlicePage<TicketListItem>>();
+        if (!validPage(page, count, response)) {
+            return Mono.just(ResponseEntity.badRequest().body(response));
+        }
+        return Mono.defer(() -> {
+            var filter = ticketFilter(userFromPrincipal(principal), status, priority, assigned);
+            if (title != null && !title.isEmpty()) {
+                filter.setTitle(title);
+            }
+            Mono<SlicePage<TicketListItem>> slice = ticketService.findSlice(filter, page, count).map(SlicePage::new);
+            if (!estimateTotal) {
+                return slice;
+            }
+            return slice.flatMap(result -> Mono.fromCallable(() -> countService.estimateTickets(filter))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(total -> {
+                        result.setEstimatedTotal(total);
+                        return result;
+                    }));
+        })
+                .map(slice -> ok(response, slice))
+                .onErrorResume(e -> Mono.just(badRequest(response, e)));
+    }
+
+    @GetMapping(value = "export")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> export(@AuthenticationPrincipal JwtUser principal,
+                                                         @RequestParam(defaultValue = "ndjson") String format,
+                                                         @RequestParam(required = false) String status,
+                                                         @RequestParam(required = false) String priority,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+                                                         @RequestParam(required = false) String assignee) {
+        TicketExportService.Format exportFormat;
+        TicketFilter filter;
+        try {
+            exportFormat = TicketExportService.Format.valueOf(format.toUpperCase());
+            filter = ticketFilter(userFromPrincipal(principal), status, priority, false);
+        } catch (Exception e) {
+            var response = new Response<String>();
+            response.getErros().add(e.getMessage());
+            return Mono.just(ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(json(response)));
+        }
+        if (assignee != null && !assignee.isEmpty()) {
+            filter.setAssignedUserId(assignee);
+        }
+        filter.setDateFrom(from);
+        filter.setDateTo(to);
+        var body = ticketService.export(filter, exportFormat)
+                .<DataBuffer>map(line -> DefaultDataBufferFactory.sharedInstance.wrap(line.getBytes(StandardCharsets.UTF_8)));
+        return Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tickets." + exportFormat.getExtension()).build().toString())
+                .body(body));
+    }
+
+    private Flux<DataBuffer> json(Object body) {
+        return Mono.<DataBuffer>fromCallable(() -> DefaultDataBufferFactory.sharedInstance.wrap(objectMapper.writeValueAsBytes(body))).flux();
+    }
+
+    @GetMapping(value = "search/{page}/{count}")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public Mono<ResponseEntity<Response<SlicePage<TicketListItem>>>> search(@AuthenticationPrincipal JwtUser principal,
+                                                                            @PathVariable int page,
+                                                                            @PathVariable int count,
+                                                                            @RequestParam String text,
+                                                                            @RequestParam(required = false) String status,
+                                                                            @RequestParam(required = false) String priority,
+                                                                            @RequestParam(defaultValue = "false") boolean assigned) {
+        var response = new Response<SlicePage<TicketListItem>>();
+        if (!validPage(page, count, response)) {
+            return Mono.just(ResponseEntity.badRequest().body(response));
+        }
+        return Mono.defer(() -> ticketService.search(text, ticketFilter(userFromPrincipal(principal), status, priority, assigned), page, count))
+                .map(tickets -> ok(response, new SlicePage<>(tickets)))
+                .onErrorResume(e -> Mono.just(badRequest(response, e)));
+    }
+
+    private boolean validCount(int count, Response<?> response) {
+        if (count < 1 || count > pageMaxCount) {
+            response.getErros().add("Count must be between 1 and " + pageMaxCount);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean validPage(int page, int count, Response<?> response) {
+        if (page < 0) {
+            response.getErros().add("Page must not be negative");
+            return false;
+        }
+        return validCount(count, response);
+    }
+
+    private TicketFilter ticketFilter(User userRequest, String status, String priority, boolean assigned) {
+        var filter = TicketFilter.fromParameters(null, status, priority);
+        if (userRequest.getProfile().equals(Profile.ROLE_COSTUMER)) {
+            filter.setUserId(userRequest.getId());
+        } else if (assigned) {
+            filter.setAssignedUserId(userRequest.getId());
+        }
+        return filter;
+    }
+
+    @GetMapping(value = "{page}/{count}/{number}/{title}/{status}/{priority}/{assigned}")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public Mono<ResponseEntity<Response<Page<TicketListItem>>>> findByParams(@AuthenticationPrincipal JwtUser principal,
+                                                                             @PathVariable int page,
+                                                                             @PathVariable int count,
+                                                                             @PathVariable Integer number,
+                                                                             @PathVariable String title,
+                                                                             @PathVariable String status,
+                                                                             @PathVariable String priority,
+                                                                             @PathVariable boolean assigned) {
+
+        title = title.equals("uninformed") ? "" : title;
+        status = status.equals("uninformed") ? "" : status;
+        priority = priority.equals("uninformed") ? "" : priority;
+
+        var response = new Response<Page<TicketListItem>>();
+        Mono<Page<TicketListItem>> tickets = Mono.empty();
+        if (number > 0) {
+            tickets = ticketService.findByNumber(page, count, number);
+        } else {
+            var userRequest = userFromPrincipal(principal);
+            if (userRequest.getProfile().equals(Profile.ROLE_TECHNICIAN)) {
+                if (assigned) {
+                    tickets = ticketService.findByParameterAndAssignedUser(page, count, title, status, priority, userRequest.getId());
+                } else {
+                    tickets = ticketService.findByParameter(page, count, title, status, priority);
+                }
+            } else if (userRequest.getProfile().equals(Profile.ROLE_COSTUMER)) {
+                tickets = ticketService.findByParameterAndAssignedUser(page, count, title, status, priority, userRequest.getId());
+            }
+        }
+        return tickets.map(result -> ok(response, result)).defaultIfEmpty(ResponseEntity.ok(response));
+    }
+
+    @PutMapping(value = "/{id}/{status}")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public Mono<ResponseEntity<Response<Ticket>>> Change(
+            @AuthenticationPrincipal JwtUser principal,
+            @PathVariable("id") String id,
+            @PathVariable("status") String status,
+            @RequestBody Ticket ticket) {
+
+        var response = new Response<Ticket>();
+        if (id == null || id.equals("")) {
+            response.getErros().add("Id no information");
+            return Mono.just(ResponseEntity.badRequest().body(response));
+        }
+        if (status == null || status.equals("")) {
+            response.getErros().add("Status no information");
+            return Mono.just(ResponseEntity.badRequest().body(response));
+        }
+        return ticketService.changeStatus(id, Status.getStatus(status), ticket.getVersion(), userFromPrincipal(principal))
+                .map(ticketPersisted -> ok(response, ticketPersisted))
+                .switchIfEmpty(Mono.fromSupplier(() -> registerNotFound(response, id)))
+                .onErrorResume(TicketConflictException.class, e -> Mono.just(conflict(response, e)))
+                .onErrorResume(e -> Mono.just(badRequest(response, e)));
+    }
+
+    @PutMapping(value = "/status/{status}")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public Mono<ResponseEntity<Response<StatusChangeReport>>> changeAll(
+            @AuthenticationPrincipal JwtUser principal,
+            @PathVariable("status") String status,
+            @RequestBody List<String> ids) {
+
+        var response = new Response<StatusChangeReport>();
+        if (ids == null || ids.isEmpty()) {
+            response.getErros().add("Ids no information");
+            return Mono.just(ResponseEntity.badRequest().body(response));
+        }
+        if (ids.size() > bulkLimit) {
+            response.getErros().add("At most " + bulkLimit + " tickets per request");
+            return Mono.just(ResponseEntity.badRequest().body(response));
+        }
+        return ticketService.changeStatus(ids, Status.getStatus(status), userFromPrincipal(principal))
+                .map(report -> ok(response, report))
+                .onErrorResume(e -> Mono.just(badRequest(response, e)));
+    }
+
+    @GetMapping(value = "/summary")
+    public Mono<ResponseEntity<Response<Summary>>> findChart(ServerWebExchange exchange) {
+        var response = new Response<Summary>();
+        return ticketService.getSummaryVersion()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(version -> {
+                    if (version.isPresent() && exchange.checkNotModified(String.valueOf(version.get()))) {
+                        return Mono.just(notModified(version.get()).<Response<Summary>>build());
+                    }
+                    return ticketService.getSummary().map(summary -> {
+                        response.setData(summary);
+                        return revalidated(version.orElse(null)).body(response);
+                    });
+                });
+    }
+
+    @GetMapping(value = "feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public Flux<ServerSentEvent<TicketEvent>> feed(@AuthenticationPrincipal JwtUser principal) {
+        return ticketFeedService.subscribe(userFromPrincipal(principal))
+                .map(event -> ServerSentEvent.builder(event).event(event.getType().name()).build())
+                .mergeWith(Flux.interval(feedHeartbeat)
+                        .map(tick -> ServerSentEvent.<TicketEvent>builder().comment("heartbeat").build()));
+    }
+
+    private ResponseEntity.BodyBuilder revalidated(Long version) {
+        var builder = ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate());
+        return version != null ? builder.eTag(String.valueOf(version)) : builder;
+    }
+
+    private ResponseEntity.BodyBuilder notModified(Long version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(String.valueOf(version));
+    }
+
+    private <T> ResponseEntity<Response<T>> ok(Response<T> response, T data) {
+        response.setData(data);
+        return ResponseEntity.ok(response);
+    }
+
+    private <T> ResponseEntity<Response<T>> badRequest(Response<T> response, Throwable e) {
+        response.getErros().add(e.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    private <T> ResponseEntity<Response<T>> conflict(Response<T> response, Throwable e) {
+        return status(HttpStatus.CONFLICT, response, e);
+    }
+
+    private <T> ResponseEntity<Response<T>> status(HttpStatus status, Response<T> response, Throwable e) {
+        response.getErros().add(e.getMessage());
+        return ResponseEntity.status(status).body(response);
+    }
+
+    private <T> ResponseEntity<Response<T>> registerNotFound(Response<T> response, String id) {
+        response.getErros().add("Register not found id:" + id);
+        return ResponseEntity.badRequest().body(response);
+    }
+}
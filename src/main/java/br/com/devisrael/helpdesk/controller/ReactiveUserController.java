@@ -0,0 +1,165 @@
+package br.com.devisrael.helpdesk.controller;
+
+import br.com.devisrael.helpdesk.api.dto.SlicePage;
+import br.com.devisrael.helpdesk.api.entity.Response;
+import br.com.devisrael.helpdesk.api.entity.User;
+import br.com.devisrael.helpdesk.service.CountService;
+import br.com.devisrael.helpdesk.service.ReactiveUserService;
+import br.com.devisrael.helpdesk.service.UserService;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/user")
+@CrossOrigin(origins = "*")
+public class ReactiveUserController {
+
+    @Autowired
+    private ReactiveUserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CountService countService;
+
+    @Value("${ticket.page.max-count}")
+    private int pageMaxCount;
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    public Mono<ResponseEntity<Response<User>>> create(@RequestBody User user) {
+        var response = new Response<User>();
+        if (user.getEmail() == null) {
+            response.getErros().add("Email no information");
+            return Mono.just(ResponseEntity.badRequest().body(response));
+        }
+        return save(user, response);
+    }
+
+    @PutMapping
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    public Mono<ResponseEntity<Response<User>>> update(@RequestBody User user) {
+        var response = new Response<User>();
+        if (user.getId() == null) {
+            response.getErros().add("Id no information");
+        }
+        if (user.getEmail() == null) {
+            response.getErros().add("Email no information");
+        }
+        if (!response.getErros().isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().body(response));
+        }
+        return save(user, response);
+    }
+
+    private Mono<ResponseEntity<Response<User>>> save(User user, Response<User> response) {
+        return Mono.fromCallable(() -> passwordEncoder.encode(user.getPassword()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(password -> {
+                    user.setPassword(password);
+                    return userService.createOrUpdate(user);
+                })
+                .map(userPersisted -> ok(response, userPersisted))
+                .onErrorResume(e -> Mono.just(badRequest(response, e)));
+    }
+
+    @GetMapping(value = {"{id}"})
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    public Mono<ResponseEntity<Response<User>>> findById(@PathVariable("id") String id) {
+        var response = new Response<User>();
+        return userService.findById(id)
+                .switchIfEmpty(Mono.error(new NoSuchElementException("No value present")))
+                .map(user -> ok(response, user))
+                .onErrorResume(e -> Mono.just(badRequest(response, e)));
+    }
+
+    @DeleteMapping(value = {"{id}"})
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    public Mono<ResponseEntity<Response<String>>> delete(@PathVariable("id") String id) {
+        var response = new Response<String>();
+        return userService.delete(id)
+                .then(Mono.fromCallable(() -> ResponseEntity.ok(new Response<String>())))
+                .onErrorResume(e -> Mono.just(badRequest(response, e)));
+    }
+
+    @GetMapping(value = "{page}/{count}")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    public Mono<ResponseEntity<Response<Page<User>>>> findAll(@PathVariable int page, @PathVariable int count) {
+        var response = new Response<Page<User>>();
+        return userService.findAll(page, count)
+                .map(all -> ok(response, all))
+                .onErrorResume(e -> Mono.just(badRequest(response, e)));
+    }
+
+    @GetMapping(value = "slice/{page}/{count}")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    public Mono<ResponseEntity<Response<SlicePage<User>>>> findSlice(@PathVariable int page, @PathVariable int count,
+                                                                     @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        var response = new Response<SlicePage<User>>();
+        if (page < 0 || count < 1 || count > pageMaxCount) {
+            response.getErros().add("Page must not be negative and count must be between 1 and " + pageMaxCount);
+            return Mono.just(ResponseEntity.badRequest().body(response));
+        }
+        var slice = userService.findSlice(page, count).map(SlicePage::new);
+        if (estimateTotal) {
+            slice = slice.flatMap(result -> Mono.fromCallable(countService::estimateUsers)
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(total -> {
+                        result.setEstimatedTotal(total);
+                        return result;
+                    }));
+        }
+        return slice.map(result -> ok(response, result))
+                .onErrorResume(e -> Mono.just(badRequest(response, e)));
+    }
+
+    @GetMapping(value = "cache/stats")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    public ResponseEntity<Response<Map<String, Number>>> cacheStats() {
+        var response = new Response<Map<String, Number>>();
+        var cache = cacheManager.getCache(UserService.USERS_CACHE);
+        if (cache == null || !(cache.getNativeCache() instanceof Cache)) {
+            response.getErros().add("Cache not available: " + UserService.USERS_CACHE);
+            return ResponseEntity.badRequest().body(response);
+        }
+        var nativeCache = (Cache<?, ?>) cache.getNativeCache();
+        var stats = nativeCache.stats();
+        var data = new LinkedHashMap<String, Number>();
+        data.put("size", nativeCache.estimatedSize());
+        data.put("hitCount", stats.hitCount());
+        data.put("missCount", stats.missCount());
+        data.put("hitRate", stats.hitRate());
+        data.put("evictionCount", stats.evictionCount());
+        response.setData(data);
+        return ResponseEntity.ok(response);
+    }
+
+    private <T> ResponseEntity<Response<T>> ok(Response<T> response, T data) {
+        response.setData(data);
+        return ResponseEntity.ok(response);
+    }
+
+    private <T> ResponseEntity<Response<T>> badRequest(Response<T> response, Throwable e) {
+        response.getErros().add(e.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+}
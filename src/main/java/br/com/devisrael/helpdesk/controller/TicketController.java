@@ -1,23 +1,58 @@
 package br.com.devisrael.helpdesk.controller;
 
+import br.com.devisrael.helpdesk.api.dto.CursorPage;
+import br.com.devisrael.helpdesk.api.dto.ImportReport;
+import br.com.devisrael.helpdesk.api.dto.SlicePage;
+import br.com.devisrael.helpdesk.api.dto.StatusChangeReport;
 import br.com.devisrael.helpdesk.api.dto.Summary;
+import br.com.devisrael.helpdesk.api.dto.TicketEvent;
+import br.com.devisrael.helpdesk.api.dto.TicketFilter;
+import br.com.devisrael.helpdesk.api.dto.TicketListItem;
 import br.com.devisrael.helpdesk.api.entity.*;
 import br.com.devisrael.helpdesk.security.JwtTokenUtil;
+import br.com.devisrael.helpdesk.service.AttachmentService;
+import br.com.devisrael.helpdesk.service.CountService;
+import br.com.devisrael.helpdesk.service.SequenceService;
+import br.com.devisrael.helpdesk.service.SummaryService;
+import br.com.devisrael.helpdesk.service.TicketExportService;
+import br.com.devisrael.helpdesk.service.TicketFeedService;
+import br.com.devisrael.helpdesk.service.TicketConflictException;
+import br.com.devisrael.helpdesk.service.TicketImportService;
 import br.com.devisrael.helpdesk.service.TicketService;
+import br.com.devisrael.helpdesk.service.TicketVersionRequiredException;
 import br.com.devisrael.helpdesk.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 
 @RestController
+@org.springframework.context.annotation.Profile("!reactive")
 @RequestMapping("/api/ticket")
 @CrossOrigin(origins = "*")
 public class TicketController {
@@ -31,6 +66,45 @@ public class TicketController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private SummaryService summaryService;
+
+    @Autowired
+    private SequenceService sequenceService;
+
+    @Autowired
+    private CountService countService;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private TicketImportService ticketImportService;
+
+    @Autowired
+    private TicketExportService ticketExportService;
+
+    @Autowired
+    private TicketFeedService ticketFeedService;
+
+    @Value("${ticket.image.max-age}")
+    private long imageMaxAge;
+
+    @Value("${ticket.history.limit}")
+    private int historyLimit;
+
+    @Value("${ticket.status.bulk-limit}")
+    private int bulkLimit;
+
+    @Value("${ticket.page.max-count}")
+    private int pageMaxCount;
+
+    @Value("${ticket.feed.heartbeat}")
+    private Duration feedHeartbeat;
+
+    @Value("${ticket.feed.timeout}")
+    private Duration feedTimeout;
+
     @PostMapping()
     @PreAuthorize("hasAnyRole('CUSTOMER')")
     public ResponseEntity<Response<Ticket>> create(HttpServletRequest request, @RequestBody Ticket ticket,
@@ -45,7 +119,7 @@ public class TicketController {
             ticket.setStatus(Status.getStatus("New"));
             ticket.setUser(userFromRequest(request));
             ticket.setDate(new Date());
-            ticket.setNumber(generateNumber());
+            ticket.setNumber(sequenceService.nextTicketNumber());
             var ticketPersisted = ticketService.createOrUpdate(ticket);
             response.setData(ticketPersisted);
         } catch (Exception e) {
@@ -55,6 +129,19 @@ public class TicketController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('COSTUMER','ADMIN')")
+    public ResponseEntity<Response<ImportReport>> importTickets(HttpServletRequest request) {
+        var response = new Response<ImportReport>();
+        try {
+            response.setData(ticketImportService.importTickets(request.getInputStream(), userFromRequest(request)));
+        } catch (Exception e) {
+            response.getErros().add(e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
     private void validateCreateTicket(Ticket ticket, BindingResult result) {
         if (ticket.getTitle() == null) {
             result.addError(new ObjectError("Ticket", "Title no information"));
@@ -62,14 +149,8 @@ public class TicketController {
     }
 
     public User userFromRequest(HttpServletRequest request) {
-        String token = request.getHeader("Authorization");
-        String email = jwtTokenUtil.getUsernameFromToken(token);
-        return userService.findByEmail(email);
-    }
-
-    private Integer generateNumber() {
-        var random = new Random();
-        return random.nextInt(9999);
+        var verifiedToken = jwtTokenUtil.getVerifiedToken(request);
+        return verifiedToken != null ? userService.findByEmail(verifiedToken.getUsername()) : null;
     }
 
     @PutMapping()
@@ -93,6 +174,12 @@ public class TicketController {
             }
             var ticketPersisted = ticketService.createOrUpdate(ticket);
             response.setData(ticketPersisted);
+        } catch (TicketVersionRequiredException e) {
+            response.getErros().add(e.getMessage());
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body(response);
+        } catch (OptimisticLockingFailureException e) {
+            response.getErros().add(e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
         } catch (Exception e) {
             response.getErros().add(e.getMessage());
             return ResponseEntity.badRequest().body(response);
@@ -113,24 +200,50 @@ public class TicketController {
 
     @GetMapping(value = "{id}")
     @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
-    public ResponseEntity<Response<Ticket>> findById(@PathVariable("id") String id) {
+    public ResponseEntity<Response<Ticket>> findById(@PathVariable("id") String id, WebRequest webRequest) {
+        var version = ticketService.findVersion(id);
+        if (version != null && webRequest.checkNotModified(String.valueOf(version))) {
+            return null;
+        }
         var response = new Response<Ticket>();
         var ticket = ticketService.findById(id);
         if (ticket == null) {
             response.getErros().add("Register not found id:" + id);
             return ResponseEntity.badRequest().body(response);
         }
-        var changes = new ArrayList<Change>();
-        Iterable<Change> changesCurrent = ticketService.listChangeStatus(ticket.getId());
-        for (Change change : changesCurrent) {
-            change.setTicket(null);
-            changes.add(change);
-        }
-        ticket.setChanges(changes);
+        ticket.setChanges(ticketService.listChangeStatus(ticket.getId(), 0, historyLimit));
         response.setData(ticket);
+        return revalidated(ticket.getVersion()).body(response);
+    }
+
+    @GetMapping(value = "{id}/changes/{page}/{count}")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public ResponseEntity<Response<List<Change>>> findChanges(@PathVariable("id") String id,
+                                                              @PathVariable int page,
+                                                              @PathVariable int count) {
+        var response = new Response<List<Change>>();
+        if (!validPage(page, count, response)) {
+            return ResponseEntity.badRequest().body(response);
+        }
+        response.setData(ticketService.listChangeStatus(id, page, count));
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "{id}/image")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public ResponseEntity<Resource> findImage(@PathVariable("id") String id) {
+        var image = attachmentService.findImage(ticketService.findImageId(id));
+        if (image == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .eTag(image.getId())
+                .lastModified(image.lastModified())
+                .cacheControl(CacheControl.maxAge(imageMaxAge, TimeUnit.SECONDS).cachePrivate())
+                .contentType(MediaType.parseMediaType(image.getContentType()))
+                .body(image);
+    }
+
     @DeleteMapping(value = "/{id}")
     @PreAuthorize("hasAnyRole('CUSTOMER')")
     public ResponseEntity<Response<String>> delete(@PathVariable("id") String id) {
@@ -147,10 +260,10 @@ public class TicketController {
 
     @GetMapping(value = "{page}/{count}")
     @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
-    public ResponseEntity<Response<Page<Ticket>>> findAll(HttpServletRequest request, @PathVariable int page, @PathVariable int count) {
+    public ResponseEntity<Response<Page<TicketListItem>>> findAll(HttpServletRequest request, @PathVariable int page, @PathVariable int count) {
 
-        var response = new Response<Page<Ticket>>();
-        Page<Ticket> tickets = null;
+        var response = new Response<Page<TicketListItem>>();
+        Page<TicketListItem> tickets = null;
         var userRequest = userFromRequest(request);
         if (userRequest.getProfile().equals(Profile.ROLE_TECHNICIAN)) {
             tickets = ticketService.listTickets(page, count);
@@ -161,9 +274,147 @@ public class TicketController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "cursor/{count}")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public ResponseEntity<Response<CursorPage<TicketListItem>>> findByCursor(HttpServletRequest request,
+                                                                     @PathVariable int count,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) String status,
+                                                                     @RequestParam(required = false) String priority,
+                                                                     @RequestParam(defaultValue = "false") boolean assigned) {
+        var response = new Response<CursorPage<TicketListItem>>();
+        if (!validCount(count, response)) {
+            return ResponseEntity.badRequest().body(response);
+        }
+        try {
+            var filter = ticketFilter(userFromRequest(request), status, priority, assigned);
+            response.setData(ticketService.listTicketsByCursor(filter, cursor, count));
+        } catch (Exception e) {
+            response.getErros().add(e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "slice/{page}/{count}")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public ResponseEntity<Response<SlicePage<TicketListItem>>> findSlice(HttpServletRequest request,
+                                                                 @PathVariable int page,
+                                                                 @PathVariable int count,
+                                                                 @RequestParam(required = false) String title,
+                                                                 @RequestParam(required = false) String status,
+                                                                 @RequestParam(required = false) String priority,
+                                                                 @RequestParam(defaultValue = "false") boolean assigned,
+                                                                 @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        var response = new Response<SlicePage<TicketListItem>>();
+        if (!validPage(page, count, response)) {
+            return ResponseEntity.badRequest().body(response);
+        }
+        try {
+            var filter = ticketFilter(userFromRequest(request), status, priority, assigned);
+            if (title != null && !title.isEmpty()) {
+                filter.setTitle(title);
+            }
+            var slice = new SlicePage<>(ticketService.findSlice(filter, page, count));
+            if (estimateTotal) {
+                slice.setEstimatedTotal(countService.estimateTickets(filter));
+            }
+            response.setData(slice);
+        } catch (Exception e) {
+            response.getErros().add(e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "search/{page}/{count}")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public ResponseEntity<Response<SlicePage<TicketListItem>>> search(HttpServletRequest request,
+                                                              @PathVariable int page,
+                                                              @PathVariable int count,
+                                                              @RequestParam String text,
+                                                              @RequestParam(required = false) String status,
+                                                              @RequestParam(required = false) String priority,
+                                                              @RequestParam(defaultValue = "false") boolean assigned) {
+        var response = new Response<SlicePage<TicketListItem>>();
+        if (!validPage(page, count, response)) {
+            return ResponseEntity.badRequest().body(response);
+        }
+        try {
+            var filter = ticketFilter(userFromRequest(request), status, priority, assigned);
+            response.setData(new SlicePage<>(ticketService.search(text, filter, page, count)));
+        } catch (Exception e) {
+            response.getErros().add(e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "export")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public ResponseEntity<?> export(HttpServletRequest request,
+                                    @RequestParam(defaultValue = "ndjson") String format,
+                                    @RequestParam(required = false) String status,
+                                    @RequestParam(required = false) String priority,
+                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+                                    @RequestParam(required = false) String assignee) {
+        var response = new Response<String>();
+        try {
+            var exportFormat = TicketExportService.Format.valueOf(format.toUpperCase());
+            var filter = ticketFilter(userFromRequest(request), status, priority, false);
+            if (assignee != null && !assignee.isEmpty()) {
+                filter.setAssignedUserId(assignee);
+            }
+            filter.setDateFrom(from);
+            filter.setDateTo(to);
+            StreamingResponseBody body = output -> ticketExportService.export(filter, exportFormat, output);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename("tickets." + exportFormat.getExtension()).build().toString())
+                    .body(body);
+        } catch (Exception e) {
+            response.getErros().add(e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    private boolean validCount(int count, Response<?> response) {
+        if (count < 1 || count > pageMaxCount) {
+            response.getErros().add("Count must be between 1 and " + pageMaxCount);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean validPage(int page, int count, Response<?> response) {
+        if (page < 0) {
+            response.getErros().add("Page must not be negative");
+            return false;
+        }
+        return validCount(count, response);
+    }
+
+    private TicketFilter ticketFilter(User userRequest, String status, String priority, boolean assigned) {
+        var filter = new TicketFilter();
+        if (status != null && !status.isEmpty()) {
+            filter.setStatus(Status.getStatus(status));
+        }
+        if (priority != null && !priority.isEmpty()) {
+            filter.setPriority(Priority.valueOf(priority.toUpperCase()));
+        }
+        if (userRequest.getProfile().equals(Profile.ROLE_COSTUMER)) {
+            filter.setUserId(userRequest.getId());
+        } else if (assigned) {
+            filter.setAssignedUserId(userRequest.getId());
+        }
+        return filter;
+    }
+
     @GetMapping(value = "{page}/{count}/{number}/{title}/{status}/{priority}/{assigned}")
     @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
-    public ResponseEntity<Response<Page<Ticket>>> findByParams(HttpServletRequest request,
+    public ResponseEntity<Response<Page<TicketListItem>>> findByParams(HttpServletRequest request,
                                                                @PathVariable int page,
                                                                @PathVariable int count,
                                                                @PathVariable Integer number,
@@ -176,8 +427,8 @@ public class TicketController {
         status = status.equals("uninformed") ? "" : status;
         priority = priority.equals("uninformed") ? "" : priority;
 
-        var response = new Response<Page<Ticket>>();
-        Page<Ticket> tickets = null;
+        var response = new Response<Page<TicketListItem>>();
+        Page<TicketListItem> tickets = null;
         if (number > 0) {
             tickets = ticketService.findByNumber(page, count, number);
         } else {
@@ -212,19 +463,40 @@ public class TicketController {
                 result.getAllErrors().forEach(error -> response.getErros().add(error.getDefaultMessage()));
                 return ResponseEntity.badRequest().body(response);
             }
-            var ticketCurrent = ticketService.findById(id);
-            ticketCurrent.setStatus(Status.getStatus(status));
-            if (status.equals("Assigned")) {
-                ticketCurrent.setAssignedUser(userFromRequest(request));
+            var ticketPersisted = ticketService.changeStatus(id, Status.getStatus(status), ticket.getVersion(), userFromRequest(request));
+            if (ticketPersisted == null) {
+                response.getErros().add("Register not found id:" + id);
+                return ResponseEntity.badRequest().body(response);
             }
-            var ticketPersisted = ticketService.createOrUpdate(ticketCurrent);
-            var change = new Change();
-            change.setUserChange(userFromRequest(request));
-            change.setDateChangeStatus(new Date());
-            change.setStatus(Status.getStatus(status));
-            change.setTicket(ticketPersisted);
-            ticketService.createChangeStatus(change);
             response.setData(ticketPersisted);
+        } catch (TicketConflictException e) {
+            response.getErros().add(e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (Exception e) {
+            response.getErros().add(e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping(value = "/status/{status}")
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public ResponseEntity<Response<StatusChangeReport>> changeAll(
+            @PathVariable("status") String status,
+            HttpServletRequest request,
+            @RequestBody List<String> ids) {
+
+        var response = new Response<StatusChangeReport>();
+        try {
+            if (ids == null || ids.isEmpty()) {
+                response.getErros().add("Ids no information");
+                return ResponseEntity.badRequest().body(response);
+            }
+            if (ids.size() > bulkLimit) {
+                response.getErros().add("At most " + bulkLimit + " tickets per request");
+                return ResponseEntity.badRequest().body(response);
+            }
+            response.setData(ticketService.changeStatus(ids, Status.getStatus(status), userFromRequest(request)));
         } catch (Exception e) {
             response.getErros().add(e.getMessage());
             return ResponseEntity.badRequest().body(response);
@@ -243,46 +515,44 @@ public class TicketController {
     }
 
     @GetMapping(value = "/summary")
-    public ResponseEntity<Response<Summary>> findChart() {
-        var response = new Response<Summary>();
-        Summary chart = new Summary();
-        var amountNew = 0;
-        var amountResolved = 0;
-        var amountApproved = 0;
-        var amountDisapproved = 0;
-        var amountAssigned = 0;
-        var amountClosed = 0;
-        Iterable<Ticket> tickets = ticketService.findAll();
-        if (tickets != null) {
-            for (Ticket ticket : tickets) {
-                if (ticket.getStatus().equals(Status.NEW)) {
-                    amountNew++;
-                }
-                if (ticket.getStatus().equals(Status.RESOLVED)) {
-                    amountResolved++;
-                }
-                if (ticket.getStatus().equals(Status.APPROVED)) {
-                    amountApproved++;
-                }
-                if (ticket.getStatus().equals(Status.DISAPPROVED)) {
-                    amountDisapproved++;
-                }
-                if (ticket.getStatus().equals(Status.ASSIGNED)) {
-                    amountAssigned++;
-                }
-                if (ticket.getStatus().equals(Status.CLOSED)) {
-                    amountClosed++;
-                }
-            }
+    public ResponseEntity<Response<Summary>> findChart(WebRequest webRequest) {
+        var version = summaryService.getVersion();
+        if (version != null && webRequest.checkNotModified(String.valueOf(version))) {
+            return null;
         }
-        chart.setAmountNew(amountNew);
-        chart.setAmountResolved(amountResolved);
-        chart.setAmountApproved(amountApproved);
-        chart.setAmountDisapproved(amountDisapproved);
-        chart.setAmountAssigned(amountAssigned);
-        chart.setAmountClosed(amountClosed);
-        response.setData(chart);
-        return ResponseEntity.ok(response);
+        var response = new Response<Summary>();
+        response.setData(summaryService.getSummary());
+        return revalidated(version).body(response);
+    }
+
+    @GetMapping(value = "feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+    public SseEmitter feed(HttpServletRequest request) {
+        var emitter = new SseEmitter(feedTimeout.toMillis());
+        var subscription = ticketFeedService.subscribe(userFromRequest(request))
+                .map(this::feedEvent)
+                .mergeWith(Flux.interval(feedHeartbeat).map(tick -> SseEmitter.event().comment("heartbeat")))
+                .publishOn(Schedulers.boundedElastic(), 1)
+                .subscribe(event -> {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException e) {
+                        throw Exceptions.propagate(e);
+                    }
+                }, emitter::completeWithError);
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+        return emitter;
+    }
+
+    private SseEmitter.SseEventBuilder feedEvent(TicketEvent event) {
+        return SseEmitter.event().name(event.getType().name()).data(event, MediaType.APPLICATION_JSON);
+    }
+
+    private ResponseEntity.BodyBuilder revalidated(Long version) {
+        var builder = ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate());
+        return version != null ? builder.eTag(String.valueOf(version)) : builder;
     }
 
 }
\ No newline at end of file
@@ -1,9 +1,15 @@
 package br.com.devisrael.helpdesk.controller;
 
+import br.com.devisrael.helpdesk.api.dto.SlicePage;
 import br.com.devisrael.helpdesk.api.entity.Response;
 import br.com.devisrael.helpdesk.api.entity.User;
+import br.com.devisrael.helpdesk.service.CountService;
 import br.com.devisrael.helpdesk.service.UserService;
+import com.github.benmanes.caffeine.cache.Cache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -13,8 +19,11 @@ import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/user")
 @CrossOrigin(origins = "*")
 public class UserController {
@@ -25,6 +34,15 @@ public class UserController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CountService countService;
+
+    @Value("${ticket.page.max-count}")
+    private int pageMaxCount;
+
     @PostMapping
     @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
     public ResponseEntity<Response<User>> create(HttpServletRequest request, @RequestBody User user,
@@ -116,4 +134,42 @@ public class UserController {
         pageResponse.setData(all);
         return ResponseEntity.ok(pageResponse);
     }
-}
+
+    @GetMapping(value = "slice/{page}/{count}")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    public ResponseEntity<Response<SlicePage<User>>> findSlice(@PathVariable int page, @PathVariable int count,
+                                                               @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        var sliceResponse = new Response<SlicePage<User>>();
+        if (page < 0 || count < 1 || count > pageMaxCount) {
+            sliceResponse.getErros().add("Page must not be negative and count must be between 1 and " + pageMaxCount);
+            return ResponseEntity.badRequest().body(sliceResponse);
+        }
+        var slice = new SlicePage<>(userService.findSlice(page, count));
+        if (estimateTotal) {
+            slice.setEstimatedTotal(countService.estimateUsers());
+        }
+        sliceResponse.setData(slice);
+        return ResponseEntity.ok(sliceResponse);
+    }
+
+    @GetMapping(value = "cache/stats")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    public ResponseEntity<Response<Map<String, Number>>> cacheStats() {
+        var response = new Response<Map<String, Number>>();
+        var cache = cacheManager.getCache(UserService.USERS_CACHE);
+        if (cache == null || !(cache.getNativeCache() instanceof Cache)) {
+            response.getErros().add("Cache not available: " + UserService.USERS_CACHE);
+            return ResponseEntity.badRequest().body(response);
+        }
+        var nativeCache = (Cache<?, ?>) cache.getNativeCache();
+        var stats = nativeCache.stats();
+        var data = new LinkedHashMap<String, Number>();
+        data.put("size", nativeCache.estimatedSize());
+        data.put("hitCount", stats.hitCount());
+        data.put("missCount", stats.missCount());
+        data.put("hitRate", stats.hitRate());
+        data.put("evictionCount", stats.evictionCount());
+        response.setData(data);
+        return ResponseEntity.ok(response);
+    }
+}
\ No newline at end of file
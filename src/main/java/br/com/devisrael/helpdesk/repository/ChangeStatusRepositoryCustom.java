@@ -0,0 +1,10 @@
+package br.com.devisrael.helpdesk.repository;
+
+import br.com.devisrael.helpdesk.api.entity.Change;
+
+import java.util.List;
+
+public interface ChangeStatusRepositoryCustom {
+
+    List<Change> findHistoryByTicketId(String ticketId, int page, int count);
+}
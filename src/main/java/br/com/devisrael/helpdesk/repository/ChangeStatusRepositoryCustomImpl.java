@@ -0,0 +1,55 @@
+package br.com.devisrael.helpdesk.repository;
+
+import br.com.devisrael.helpdesk.api.entity.Change;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ChangeStatusRepositoryCustomImpl implements ChangeStatusRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserReferenceResolver userReferenceResolver;
+
+    @Override
+    public List<Change> findHistoryByTicketId(String ticketId, int page, int count) {
+        var ticketRef = ObjectId.isValid(ticketId) ? new ObjectId(ticketId) : ticketId;
+        var query = Query.query(Criteria.where("ticket.$id").is(ticketRef))
+                .with(Sort.by(Sort.Direction.DESC, "dateChangeStatus"))
+                .skip((long) page * count)
+                .limit(count);
+        query.fields().include("dateChangeStatus").include("status").include("userChange");
+        var documents = mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Change.class));
+
+        var userRefs = new ArrayList<DBRef>();
+        for (Document document : documents) {
+            userRefs.add(document.get("userChange", DBRef.class));
+        }
+        var users = userReferenceResolver.findUsersByRefs(userRefs);
+        var changes = new ArrayList<Change>(documents.size());
+        for (Document document : documents) {
+            var change = new Change();
+            change.setId(String.valueOf(document.get("_id")));
+            change.setDateChangeStatus(document.getDate("dateChangeStatus"));
+            var status = document.getString("status");
+            change.setStatus(status != null ? Status.valueOf(status) : null);
+            var userRef = document.get("userChange", DBRef.class);
+            if (userRef != null) {
+                change.setUserChange(users.get(String.valueOf(userRef.getId())));
+            }
+            changes.add(change);
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.devisrael.helpdesk.repository;
+
+import br.com.devisrael.helpdesk.api.entity.Change;
+import br.com.devisrael.helpdesk.api.entity.Sequence;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class IndexCatalog implements ApplicationRunner {
+
+    public static final String MIGRATE_OPTION = "migrate-indexes";
+
+    private static final String NUMBER_INDEX = "number";
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${mongo.indexes.ensure-on-startup}")
+    private boolean ensureOnStartup;
+
+    public Map<Class<?>, List<IndexDefinition>> definitions() {
+        var definitions = new LinkedHashMap<Class<?>, List<IndexDefinition>>();
+        definitions.put(Ticket.class, List.of(
+                index(NUMBER_INDEX, new Document("number", 1)).unique(),
+                index("date_id", new Document("date", -1).append("_id", -1)),
+                index("user_date_id", new Document("user.$id", 1).append("date", -1).append("_id", -1)),
+                index("assignedUser_date_id", new Document("assignedUser.$id", 1).append("date", -1).append("_id", -1)),
+                index("status_priority_date", new Document("status", 1).append("priority", 1).append("date", -1)),
+                index("user_status_priority_date", new Document("user.$id", 1).append("status", 1).append("priority", 1).append("date", -1)),
+                index("assignedUser_status_priority_date", new Document("assignedUser.$id", 1).append("status", 1).append("priority", 1).append("date", -1)),
+                new TextIndexDefinition.TextIndexDefinitionBuilder()
+                        .named("title_description_text")
+                        .onField("title", 3F)
+                        .onField("description")
+                        .build()
+        ));
+        definitions.put(Change.class, List.of(
+                index("ticket_dateChangeStatus", new Document("ticket.$id", 1).append("dateChangeStatus", -1))
+        ));
+        return definitions;
+    }
+
+    private CompoundIndexDefinition index(String name, Document keys) {
+        var index = new CompoundIndexDefinition(keys);
+        index.named(name);
+        return index;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (ensureOnStartup || args.containsOption(MIGRATE_OPTION)) {
+            ensureIndexes();
+        }
+    }
+
+    public List<String> ensureIndexes() {
+        renumberDuplicateTickets();
+        var ensured = new ArrayList<String>();
+        definitions().forEach((type, indexes) -> {
+            var indexOps = mongoTemplate.indexOps(mongoTemplate.getCollectionName(type));
+            for (IndexDefinition index : indexes) {
+                ensured.add(indexOps.ensureIndex(index));
+            }
+        });
+        logger.info("HelpDesk-API | ensured indexes " + ensured);
+        return ensured;
+    }
+
+    int renumberDuplicateTickets() {
+        var collection = mongoTemplate.getCollectionName(Ticket.class);
+        for (IndexInfo index : mongoTemplate.indexOps(collection).getIndexInfo()) {
+            if (index.getName().equals(NUMBER_INDEX) && index.isUnique()) {
+                return 0;
+            }
+        }
+        var aggregation = Aggregation.newAggregation(
+                Aggregation.sort(Sort.by("date", "_id")),
+                Aggregation.group("number").count().as("count").push("_id").as("ids"),
+                Aggregation.match(new Criteria().orOperator(Criteria.where("count").gt(1), Criteria.where("_id").is(null))))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        var ids = new ArrayList<Object>();
+        for (Document group : mongoTemplate.aggregate(aggregation, collection, Document.class)) {
+            var groupIds = group.getList("ids", Object.class);
+            ids.addAll(group.get("_id") == null ? groupIds : groupIds.subList(1, groupIds.size()));
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        var next = reserveTicketNumbers(collection, ids.size());
+        var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        for (Object id : ids) {
+            bulk.updateOne(Query.query(Criteria.where("_id").is(id)), new Update().set("number", Math.toIntExact(next++)));
+        }
+        bulk.execute();
+        logger.info("HelpDesk-API | renumbered " + ids.size() + " tickets with a duplicate or missing number");
+        return ids.size();
+    }
+
+    private long reserveTicketNumbers(String collection, int count) {
+        var highestQuery = new Query().with(Sort.by(Sort.Direction.DESC, "number")).limit(1);
+        highestQuery.fields().include("number");
+        var highest = mongoTemplate.findOne(highestQuery, Document.class, collection);
+        var highestNumber = highest != null && highest.get("number") instanceof Number number ? number.longValue() : 0L;
+        var sequenceQuery = Query.query(Criteria.where("id").is(Sequence.TICKET_NUMBER));
+        mongoTemplate.upsert(sequenceQuery, new Update().max("value", highestNumber), Sequence.class);
+        var sequence = mongoTemplate.findAndModify(sequenceQuery, new Update().inc("value", count),
+                FindAndModifyOptions.options().returnNew(true), Sequence.class);
+        return sequence.getValue() - count + 1;
+    }
+}
@@ -0,0 +1,236 @@
+package br.com.devisrael.helpdesk.repository;
+
+import br.com.devisrael.helpdesk.api.dto.QueryShape;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class QueryShapeRecorder implements CommandListener, MongoClientSettingsBuilderCustomizer {
+
+    private static final Set<String> IGNORED_COMMANDS = Set.of("hello", "isMaster", "ismaster", "ping", "buildInfo",
+            "saslStart", "saslContinue", "endSessions", "killCursors");
+
+    private static final List<String> FILTER_FIELDS = List.of("filter", "query", "pipeline");
+
+    private static final List<String> VERBATIM_FIELDS = List.of("sort", "projection", "fields", "hint");
+
+    private static final List<String> WRITE_BATCHES = List.of("updates", "deletes");
+
+    private static final BsonString PLACEHOLDER = new BsonString("?");
+
+    private static final String OTHER_SHAPES = "(other)";
+
+    private static final String APPLICATION_PACKAGE = "br.com.devisrael.helpdesk.";
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    private final ConcurrentHashMap<Integer, Started> inFlight = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+
+    @Value("${mongo.slow-query.threshold}")
+    private Duration slowThreshold;
+
+    @Value("${mongo.query-shapes.maximum}")
+    private int maximumShapes;
+
+    @Value("${mongo.query-shapes.in-flight.maximum}")
+    private int maximumInFlight;
+
+    @Value("${mongo.query-shapes.in-flight.expire-after}")
+    private Duration inFlightExpireAfter;
+
+    @Override
+    public void customize(MongoClientSettings.Builder builder) {
+        builder.addCommandListener(this);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (IGNORED_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+        var now = System.nanoTime();
+        if (inFlight.size() >= maximumInFlight) {
+            var expired = now - inFlightExpireAfter.toNanos();
+            inFlight.values().removeIf(started -> started.startedAt - expired <= 0);
+            if (inFlight.size() >= maximumInFlight) {
+                return;
+            }
+        }
+        var command = event.getCommand();
+        var collection = command.get(event.getCommandName());
+        inFlight.put(event.getRequestId(), new Started(now,
+                collection != null && collection.isString() ? collection.asString().getValue() : event.getDatabaseName(),
+                event.getCommandName(),
+                shapeOf(command).toJson()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finish(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        finish(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    public List<QueryShape> topShapes(int limit) {
+        var top = new ArrayList<QueryShape>(shapes.size());
+        shapes.forEach((key, stats) -> top.add(stats.toQueryShape()));
+        top.sort(Comparator.comparingDouble(QueryShape::getTotalMillis).reversed());
+        return top.size() > limit ? top.subList(0, limit) : top;
+    }
+
+    public void reset() {
+        shapes.clear();
+    }
+
+    private void finish(int requestId, long nanos) {
+        var started = inFlight.remove(requestId);
+        if (started == null) {
+            return;
+        }
+        var key = started.collection + " " + started.command + " " + started.shape;
+        var stats = shapes.get(key);
+        if (stats == null) {
+            stats = shapes.size() < maximumShapes
+                    ? shapes.computeIfAbsent(key, k -> new ShapeStats(started.collection, started.command, started.shape))
+                    : shapes.computeIfAbsent(OTHER_SHAPES, k -> new ShapeStats("", "", OTHER_SHAPES));
+        }
+        stats.record(nanos);
+        if (nanos >= slowThreshold.toNanos()) {
+            logger.warn(String.format("Slow %s on %s took %d ms from %s: %s", started.command, started.collection,
+                    TimeUnit.NANOSECONDS.toMillis(nanos), origin(), started.shape));
+        }
+    }
+
+    // Only the blocking driver notifies listeners on the calling thread; reactive callbacks run on
+    // driver threads, so slow operations issued through ReactiveMongoTemplate are logged as "unknown".
+    private String origin() {
+        return StackWalker.getInstance().walk(frames -> {
+            String repositoryMethod = null;
+            for (var iterator = frames.iterator(); iterator.hasNext(); ) {
+                var frame = iterator.next();
+                var className = frame.getClassName();
+                if (className.contains("$Proxy")) {
+                    repositoryMethod = frame.getMethodName();
+                } else if (className.startsWith(APPLICATION_PACKAGE) && !className.equals(QueryShapeRecorder.class.getName())) {
+                    var caller = className.substring(APPLICATION_PACKAGE.length()) + "." + frame.getMethodName();
+                    return repositoryMethod != null ? caller + " -> " + repositoryMethod : caller;
+                }
+            }
+            return "unknown";
+        });
+    }
+
+    static BsonDocument shapeOf(BsonDocument command) {
+        var shape = new BsonDocument();
+        for (String field : FILTER_FIELDS) {
+            if (command.containsKey(field)) {
+                shape.put(field, strip(command.get(field)));
+            }
+        }
+        for (String field : VERBATIM_FIELDS) {
+            if (command.containsKey(field)) {
+                shape.put(field, command.get(field));
+            }
+        }
+        for (String field : WRITE_BATCHES) {
+            var batch = command.get(field);
+            if (batch != null && batch.isArray() && !batch.asArray().isEmpty()) {
+                var statement = batch.asArray().get(0);
+                if (statement.isDocument() && statement.asDocument().containsKey("q")) {
+                    shape.put("q", strip(statement.asDocument().get("q")));
+                }
+            }
+        }
+        return shape;
+    }
+
+    private static BsonValue strip(BsonValue value) {
+        if (value.isDocument()) {
+            var stripped = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> stripped.put(key, strip(nested)));
+            return stripped;
+        }
+        if (value.isArray()) {
+            var array = value.asArray();
+            if (array.isEmpty() || !array.get(0).isDocument()) {
+                return new BsonArray(List.of(PLACEHOLDER));
+            }
+            var stripped = new BsonArray();
+            array.forEach(nested -> stripped.add(strip(nested)));
+            return stripped;
+        }
+        if (value.isString() && value.asString().getValue().startsWith("$")) {
+            return value;
+        }
+        return PLACEHOLDER;
+    }
+
+    private static class Started {
+
+        private final long startedAt;
+        private final String collection;
+        private final String command;
+        private final String shape;
+
+        Started(long startedAt, String collection, String command, String shape) {
+            this.startedAt = startedAt;
+            this.collection = collection;
+            this.command = command;
+            this.shape = shape;
+        }
+    }
+
+    private static class ShapeStats {
+
+        private final String collection;
+        private final String command;
+        private final String shape;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        ShapeStats(String collection, String command, String shape) {
+            this.collection = collection;
+            this.command = command;
+            this.shape = shape;
+        }
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        QueryShape toQueryShape() {
+            return new QueryShape(collection, command, shape, count.sum(),
+                    totalNanos.sum() / 1_000_000.0, maxNanos.get() / 1_000_000.0);
+        }
+    }
+}
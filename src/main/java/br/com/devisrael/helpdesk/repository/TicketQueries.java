@@ -0,0 +1,157 @@
+package br.com.devisrael.helpdesk.repository;
+
+import br.com.devisrael.helpdesk.api.dto.TicketCursor;
+import br.com.devisrael.helpdesk.api.dto.TicketFilter;
+import br.com.devisrael.helpdesk.api.dto.TicketListItem;
+import br.com.devisrael.helpdesk.api.entity.Priority;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import br.com.devisrael.helpdesk.api.entity.User;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+public final class TicketQueries {
+
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "date", "_id");
+
+    public static final Sort OLDEST_FIRST = Sort.by(Sort.Direction.ASC, "date", "_id");
+
+    public static final Sort INSERTION_ORDER = Sort.by(Sort.Direction.ASC, "_id");
+
+    private static final String[] LIST_FIELDS = {"number", "title", "status", "priority", "date", "assignedUser"};
+
+    private TicketQueries() {
+    }
+
+    public static <T extends Query> T applyFilter(T query, TicketFilter filter) {
+        if (filter == null) {
+            return query;
+        }
+        if (filter.getNumber() != null) {
+            query.addCriteria(Criteria.where("number").is(filter.getNumber()));
+        }
+        if (filter.getTitle() != null) {
+            query.addCriteria(Criteria.where("title").regex(Pattern.quote(filter.getTitle()), "i"));
+        }
+        if (filter.getStatus() != null) {
+            query.addCriteria(Criteria.where("status").is(filter.getStatus().name()));
+        }
+        if (filter.getPriority() != null) {
+            query.addCriteria(Criteria.where("priority").is(filter.getPriority().name()));
+        }
+        if (filter.getUserId() != null) {
+            query.addCriteria(Criteria.where("user.$id").is(toId(filter.getUserId())));
+        }
+        if (filter.getAssignedUserId() != null) {
+            query.addCriteria(Criteria.where("assignedUser.$id").is(toId(filter.getAssignedUserId())));
+        }
+        if (filter.getDateFrom() != null || filter.getDateTo() != null) {
+            var date = Criteria.where("date");
+            if (filter.getDateFrom() != null) {
+                date.gte(filter.getDateFrom());
+            }
+            if (filter.getDateTo() != null) {
+                date.lt(filter.getDateTo());
+            }
+            query.addCriteria(date);
+        }
+        return query;
+    }
+
+    public static Query filterQuery(TicketFilter filter) {
+        return applyFilter(new Query(), filter);
+    }
+
+    public static Query exportQuery(TicketFilter filter, int batchSize) {
+        var query = filterQuery(filter).with(NEWEST_FIRST).cursorBatchSize(batchSize);
+        query.fields().exclude("image");
+        return query;
+    }
+
+    public static Criteria after(TicketCursor cursor) {
+        return new Criteria().orOperator(
+                Criteria.where("date").lt(cursor.getDate()),
+                new Criteria().andOperator(
+                        Criteria.where("date").is(cursor.getDate()),
+                        Criteria.where("_id").lt(toId(cursor.getId()))));
+    }
+
+    public static Query statusTransition(String id, Status target, Long expectedVersion) {
+        var sources = new ArrayList<String>();
+        for (Status source : Status.sourcesOf(target)) {
+            sources.add(source.name());
+        }
+        var query = Query.query(Criteria.where("_id").is(toId(id)).and("status").in(sources));
+        if (expectedVersion != null) {
+            query.addCriteria(Criteria.where("version").is(expectedVersion));
+        }
+        query.fields().exclude("image");
+        return query;
+    }
+
+    public static Update statusTransitionUpdate(Status target, DBRef assignedUser) {
+        var update = new Update().set("status", target.name()).inc("version", 1);
+        if (assignedUser != null) {
+            update.set("assignedUser", assignedUser);
+        }
+        return update;
+    }
+
+    public static Update statusTransitionUpdate(Status target, DBRef assignedUser, String transitionId) {
+        return statusTransitionUpdate(target, assignedUser).set("lastTransition", transitionId);
+    }
+
+    public static Query transitionApplied(Collection<String> ids, String transitionId) {
+        var query = Query.query(Criteria.where("id").in(ids).and("lastTransition").is(transitionId));
+        query.fields().include("id");
+        return query;
+    }
+
+    public static <T extends Query> T includeListFields(T query) {
+        for (String field : LIST_FIELDS) {
+            query.fields().include(field);
+        }
+        return query;
+    }
+
+    public static List<DBRef> assignedUsers(List<Document> documents) {
+        var assignedUsers = new ArrayList<DBRef>(documents.size());
+        for (Document document : documents) {
+            assignedUsers.add(document.get("assignedUser", DBRef.class));
+        }
+        return assignedUsers;
+    }
+
+    public static TicketListItem toListItem(Document document, Map<String, User> users) {
+        var item = new TicketListItem();
+        item.setId(String.valueOf(document.get("_id")));
+        item.setNumber(document.getInteger("number"));
+        item.setTitle(document.getString("title"));
+        var status = document.getString("status");
+        item.setStatus(status != null ? Status.valueOf(status) : null);
+        var priority = document.getString("priority");
+        item.setPriority(priority != null ? Priority.valueOf(priority) : null);
+        item.setDate(document.getDate("date"));
+        var assignedUser = document.get("assignedUser", DBRef.class);
+        if (assignedUser != null) {
+            item.setAssignedUserId(String.valueOf(assignedUser.getId()));
+            var user = users.get(item.getAssignedUserId());
+            item.setAssignedUserEmail(user != null ? user.getEmail() : null);
+        }
+        return item;
+    }
+
+    public static Object toId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
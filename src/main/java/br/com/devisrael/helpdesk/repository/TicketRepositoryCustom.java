@@ -0,0 +1,23 @@
+package br.com.devisrael.helpdesk.repository;
+
+import br.com.devisrael.helpdesk.api.dto.TicketCursor;
+import br.com.devisrael.helpdesk.api.dto.TicketFilter;
+import br.com.devisrael.helpdesk.api.dto.TicketListItem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public interface TicketRepositoryCustom {
+
+    List<TicketListItem> findByCursor(TicketFilter filter, TicketCursor cursor, int limit);
+
+    Slice<TicketListItem> findSlice(TicketFilter filter, Pageable pageable);
+
+    Page<TicketListItem> findPage(TicketFilter filter, Pageable pageable);
+
+    Slice<TicketListItem> search(String text, TicketFilter filter, Pageable pageable);
+
+    long countByFilter(TicketFilter filter);
+}
@@ -0,0 +1,88 @@
+package br.com.devisrael.helpdesk.repository;
+
+import br.com.devisrael.helpdesk.api.dto.TicketCursor;
+import br.com.devisrael.helpdesk.api.dto.TicketFilter;
+import br.com.devisrael.helpdesk.api.dto.TicketListItem;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.devisrael.helpdesk.repository.TicketQueries.NEWEST_FIRST;
+
+public class TicketRepositoryCustomImpl implements TicketRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserReferenceResolver userReferenceResolver;
+
+    @Override
+    public List<TicketListItem> findByCursor(TicketFilter filter, TicketCursor cursor, int limit) {
+        var query = TicketQueries.filterQuery(filter);
+        if (cursor != null) {
+            query.addCriteria(TicketQueries.after(cursor));
+        }
+        return find(query.with(NEWEST_FIRST).limit(limit));
+    }
+
+    @Override
+    public Slice<TicketListItem> findSlice(TicketFilter filter, Pageable pageable) {
+        return toSlice(TicketQueries.filterQuery(filter).with(NEWEST_FIRST), pageable);
+    }
+
+    @Override
+    public Page<TicketListItem> findPage(TicketFilter filter, Pageable pageable) {
+        var query = TicketQueries.filterQuery(filter)
+                .with(pageable.getSort())
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize());
+        return PageableExecutionUtils.getPage(find(query), pageable, () -> countByFilter(filter));
+    }
+
+    @Override
+    public Slice<TicketListItem> search(String text, TicketFilter filter, Pageable pageable) {
+        var query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .includeScore()
+                .sortByScore();
+        return toSlice(TicketQueries.applyFilter(query, filter), pageable);
+    }
+
+    @Override
+    public long countByFilter(TicketFilter filter) {
+        return mongoTemplate.count(TicketQueries.filterQuery(filter), collection());
+    }
+
+    private Slice<TicketListItem> toSlice(Query query, Pageable pageable) {
+        query.skip(pageable.getOffset()).limit(pageable.getPageSize() + 1);
+        var tickets = find(query);
+        var hasNext = tickets.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? tickets.subList(0, pageable.getPageSize()) : tickets, pageable, hasNext);
+    }
+
+    private List<TicketListItem> find(Query query) {
+        var documents = mongoTemplate.find(TicketQueries.includeListFields(query), Document.class, collection());
+        var users = userReferenceResolver.findUsersByRefs(TicketQueries.assignedUsers(documents));
+        var items = new ArrayList<TicketListItem>(documents.size());
+        for (Document document : documents) {
+            items.add(TicketQueries.toListItem(document, users));
+        }
+        return items;
+    }
+
+    private String collection() {
+        return mongoTemplate.getCollectionName(Ticket.class);
+    }
+}
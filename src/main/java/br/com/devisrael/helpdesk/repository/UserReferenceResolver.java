@@ -0,0 +1,129 @@
+package br.com.devisrael.helpdesk.repository;
+
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import br.com.devisrael.helpdesk.api.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.DBRef;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.LazyLoadingProxy;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class UserReferenceResolver implements MeterBinder {
+
+    @Lazy
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${user.reference.cache.maximum-size}")
+    private long maximumSize;
+
+    @Value("${user.reference.cache.expire-after}")
+    private Duration expireAfter;
+
+    private Cache<String, User> users;
+
+    @PostConstruct
+    public void init() {
+        users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, users, "userReferences");
+    }
+
+    public Map<String, User> findUsers(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return users.getAll(ids, this::loadUsers);
+    }
+
+    public Map<String, User> findUsersByRefs(Collection<DBRef> refs) {
+        var ids = new LinkedHashSet<String>();
+        for (DBRef ref : refs) {
+            if (ref != null) {
+                ids.add(String.valueOf(ref.getId()));
+            }
+        }
+        return findUsers(ids);
+    }
+
+    public void resolve(Collection<Ticket> tickets) {
+        var ids = new LinkedHashSet<String>();
+        for (Ticket ticket : tickets) {
+            addReference(ids, ticket.getUser());
+            addReference(ids, ticket.getAssignedUser());
+        }
+        var resolved = findUsers(ids);
+        for (Ticket ticket : tickets) {
+            if (ticket.getUser() != null) {
+                ticket.setUser(resolved.getOrDefault(referenceId(ticket.getUser()), ticket.getUser()));
+            }
+            if (ticket.getAssignedUser() != null) {
+                ticket.setAssignedUser(resolved.getOrDefault(referenceId(ticket.getAssignedUser()), ticket.getAssignedUser()));
+            }
+        }
+    }
+
+    public void resolve(Ticket ticket) {
+        resolve(List.of(ticket));
+    }
+
+    public void invalidateAll() {
+        users.invalidateAll();
+    }
+
+    private void addReference(Collection<String> ids, User user) {
+        var id = user != null ? referenceId(user) : null;
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    public static String referenceId(User user) {
+        if (user instanceof LazyLoadingProxy) {
+            var ref = ((LazyLoadingProxy) user).toDBRef();
+            return ref != null ? String.valueOf(ref.getId()) : null;
+        }
+        return user.getId();
+    }
+
+    private Map<String, User> loadUsers(Iterable<? extends String> ids) {
+        var query = Query.query(Criteria.where("id").in(toCollection(ids)));
+        query.fields().include("email").include("profile");
+        var found = new HashMap<String, User>();
+        for (User user : mongoTemplate.find(query, User.class)) {
+            found.put(user.getId(), user);
+        }
+        return found;
+    }
+
+    private Collection<String> toCollection(Iterable<? extends String> ids) {
+        var collection = new LinkedHashSet<String>();
+        ids.forEach(collection::add);
+        return collection;
+    }
+}
@@ -1,9 +1,13 @@
 package br.com.devisrael.helpdesk.repository;
 
 import br.com.devisrael.helpdesk.api.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 public interface UserRepository extends MongoRepository<User, String> {
 
     User findByEmail(String email);
+
+    Slice<User> findAllBy(Pageable pageable);
 }
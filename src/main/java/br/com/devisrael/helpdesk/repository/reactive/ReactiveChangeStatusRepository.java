@@ -0,0 +1,7 @@
+package br.com.devisrael.helpdesk.repository.reactive;
+
+import br.com.devisrael.helpdesk.api.entity.Change;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ReactiveChangeStatusRepository extends ReactiveMongoRepository<Change, String>, ReactiveChangeStatusRepositoryCustom {
+}
@@ -0,0 +1,11 @@
+package br.com.devisrael.helpdesk.repository.reactive;
+
+import br.com.devisrael.helpdesk.api.entity.Change;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveChangeStatusRepositoryCustom {
+
+    Mono<List<Change>> findHistoryByTicketId(String ticketId, int page, int count);
+}
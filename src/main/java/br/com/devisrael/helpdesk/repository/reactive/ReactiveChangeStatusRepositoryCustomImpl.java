@@ -0,0 +1,59 @@
+package br.com.devisrael.helpdesk.repository.reactive;
+
+import br.com.devisrael.helpdesk.api.entity.Change;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import br.com.devisrael.helpdesk.repository.TicketQueries;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+public class ReactiveChangeStatusRepositoryCustomImpl implements ReactiveChangeStatusRepositoryCustom {
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<List<Change>> findHistoryByTicketId(String ticketId, int page, int count) {
+        var query = Query.query(Criteria.where("ticket.$id").is(TicketQueries.toId(ticketId)))
+                .with(Sort.by(Sort.Direction.DESC, "dateChangeStatus"))
+                .skip((long) page * count)
+                .limit(count);
+        query.fields().include("dateChangeStatus").include("status").include("userChange");
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Change.class))
+                .collectList()
+                .flatMap(documents -> {
+                    var userIds = new LinkedHashSet<String>();
+                    for (Document document : documents) {
+                        var userRef = document.get("userChange", DBRef.class);
+                        if (userRef != null) {
+                            userIds.add(String.valueOf(userRef.getId()));
+                        }
+                    }
+                    return ReactiveUserReferences.findUsers(mongoTemplate, userIds).map(users -> {
+                        List<Change> changes = new ArrayList<>(documents.size());
+                        for (Document document : documents) {
+                            var change = new Change();
+                            change.setId(String.valueOf(document.get("_id")));
+                            change.setDateChangeStatus(document.getDate("dateChangeStatus"));
+                            var status = document.getString("status");
+                            change.setStatus(status != null ? Status.valueOf(status) : null);
+                            var userRef = document.get("userChange", DBRef.class);
+                            if (userRef != null) {
+                                change.setUserChange(users.get(String.valueOf(userRef.getId())));
+                            }
+                            changes.add(change);
+                        }
+                        return changes;
+                    });
+                });
+    }
+}
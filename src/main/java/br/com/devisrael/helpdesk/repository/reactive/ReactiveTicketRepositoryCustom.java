@@ -0,0 +1,34 @@
+package br.com.devisrael.helpdesk.repository.reactive;
+
+import br.com.devisrael.helpdesk.api.dto.TicketCursor;
+import br.com.devisrael.helpdesk.api.dto.TicketFilter;
+import br.com.devisrael.helpdesk.api.dto.TicketListItem;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveTicketRepositoryCustom {
+
+    Mono<Ticket> findTicket(String id);
+
+    Mono<Ticket> findCurrentState(String id);
+
+    Mono<Ticket> findAndRemoveTicket(String id);
+
+    Mono<Ticket> findAndTransitionStatus(String id, Status target, Long expectedVersion, String assignedUserId);
+
+    Mono<List<TicketListItem>> findByCursor(TicketFilter filter, TicketCursor cursor, int limit);
+
+    Mono<Slice<TicketListItem>> findSlice(TicketFilter filter, Pageable pageable);
+
+    Mono<Page<TicketListItem>> findPage(TicketFilter filter, Pageable pageable);
+
+    Mono<Slice<TicketListItem>> search(String text, TicketFilter filter, Pageable pageable);
+
+    Mono<Long> countByFilter(TicketFilter filter);
+}
@@ -0,0 +1,171 @@
+package br.com.devisrael.helpdesk.repository.reactive;
+
+import br.com.devisrael.helpdesk.api.dto.TicketCursor;
+import br.com.devisrael.helpdesk.api.dto.TicketFilter;
+import br.com.devisrael.helpdesk.api.dto.TicketListItem;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import br.com.devisrael.helpdesk.api.entity.User;
+import br.com.devisrael.helpdesk.repository.TicketQueries;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static br.com.devisrael.helpdesk.repository.TicketQueries.NEWEST_FIRST;
+
+public class ReactiveTicketRepositoryCustomImpl implements ReactiveTicketRepositoryCustom {
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Ticket> findTicket(String id) {
+        var query = Query.query(Criteria.where("_id").is(TicketQueries.toId(id)));
+        return mongoTemplate.findOne(query, Document.class, collection()).flatMap(this::toTicket);
+    }
+
+    @Override
+    public Mono<Ticket> findCurrentState(String id) {
+        var query = Query.query(Criteria.where("id").is(id));
+        query.fields().include("status").include("imageId").include("version");
+        return mongoTemplate.findOne(query, Ticket.class);
+    }
+
+    @Override
+    public Mono<Ticket> findAndRemoveTicket(String id) {
+        var query = Query.query(Criteria.where("_id").is(TicketQueries.toId(id)));
+        query.fields().include("status").include("imageId").include("number").include("user");
+        return mongoTemplate.findAndRemove(query, Document.class, collection()).flatMap(this::toTicket);
+    }
+
+    @Override
+    public Mono<Ticket> findAndTransitionStatus(String id, Status target, Long expectedVersion, String assignedUserId) {
+        var assignedUser = assignedUserId != null
+                ? new DBRef(mongoTemplate.getCollectionName(User.class), TicketQueries.toId(assignedUserId))
+                : null;
+        return mongoTemplate.findAndModify(TicketQueries.statusTransition(id, target, expectedVersion),
+                        TicketQueries.statusTransitionUpdate(target, assignedUser), Document.class, collection())
+                .flatMap(this::toTicket);
+    }
+
+    @Override
+    public Mono<List<TicketListItem>> findByCursor(TicketFilter filter, TicketCursor cursor, int limit) {
+        var query = TicketQueries.filterQuery(filter);
+        if (cursor != null) {
+            query.addCriteria(TicketQueries.after(cursor));
+        }
+        return find(query.with(NEWEST_FIRST).limit(limit));
+    }
+
+    @Override
+    public Mono<Slice<TicketListItem>> findSlice(TicketFilter filter, Pageable pageable) {
+        return toSlice(TicketQueries.filterQuery(filter).with(NEWEST_FIRST), pageable);
+    }
+
+    @Override
+    public Mono<Page<TicketListItem>> findPage(TicketFilter filter, Pageable pageable) {
+        var query = TicketQueries.filterQuery(filter)
+                .with(pageable.getSort())
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize());
+        return find(query).flatMap(tickets -> toPage(tickets, filter, pageable));
+    }
+
+    @Override
+    public Mono<Slice<TicketListItem>> search(String text, TicketFilter filter, Pageable pageable) {
+        var query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .includeScore()
+                .sortByScore();
+        return toSlice(TicketQueries.applyFilter(query, filter), pageable);
+    }
+
+    @Override
+    public Mono<Long> countByFilter(TicketFilter filter) {
+        return mongoTemplate.count(TicketQueries.filterQuery(filter), collection());
+    }
+
+    private Mono<Page<TicketListItem>> toPage(List<TicketListItem> tickets, TicketFilter filter, Pageable pageable) {
+        if (pageable.getOffset() == 0 && tickets.size() < pageable.getPageSize()) {
+            return Mono.just(new PageImpl<>(tickets, pageable, tickets.size()));
+        }
+        return countByFilter(filter).map(total -> new PageImpl<>(tickets, pageable, total));
+    }
+
+    private Mono<Slice<TicketListItem>> toSlice(Query query, Pageable pageable) {
+        query.skip(pageable.getOffset()).limit(pageable.getPageSize() + 1);
+        return find(query).map(tickets -> {
+            var hasNext = tickets.size() > pageable.getPageSize();
+            return new SliceImpl<>(hasNext ? tickets.subList(0, pageable.getPageSize()) : tickets, pageable, hasNext);
+        });
+    }
+
+    private Mono<List<TicketListItem>> find(Query query) {
+        return mongoTemplate.find(TicketQueries.includeListFields(query), Document.class, collection())
+                .collectList()
+                .flatMap(documents -> ReactiveUserReferences.findUsers(mongoTemplate, referencedIds(TicketQueries.assignedUsers(documents)))
+                        .map(users -> {
+                            List<TicketListItem> items = new ArrayList<>(documents.size());
+                            for (Document document : documents) {
+                                items.add(TicketQueries.toListItem(document, users));
+                            }
+                            return items;
+                        }));
+    }
+
+    private Mono<Ticket> toTicket(Document document) {
+        var user = document.get("user", DBRef.class);
+        var assignedUser = document.get("assignedUser", DBRef.class);
+        document.remove("user");
+        document.remove("assignedUser");
+        var ticket = mongoTemplate.getConverter().read(Ticket.class, document);
+        return ReactiveUserReferences.findUsers(mongoTemplate, referencedIds(Arrays.asList(user, assignedUser)))
+                .map(users -> {
+                    ticket.setUser(reference(user, users));
+                    ticket.setAssignedUser(reference(assignedUser, users));
+                    return ticket;
+                });
+    }
+
+    private LinkedHashSet<String> referencedIds(List<DBRef> refs) {
+        var ids = new LinkedHashSet<String>();
+        for (DBRef ref : refs) {
+            if (ref != null) {
+                ids.add(String.valueOf(ref.getId()));
+            }
+        }
+        return ids;
+    }
+
+    private User reference(DBRef ref, Map<String, User> users) {
+        if (ref == null) {
+            return null;
+        }
+        var user = users.get(String.valueOf(ref.getId()));
+        if (user == null) {
+            user = new User();
+            user.setId(String.valueOf(ref.getId()));
+        }
+        return user;
+    }
+
+    private String collection() {
+        return mongoTemplate.getCollectionName(Ticket.class);
+    }
+}
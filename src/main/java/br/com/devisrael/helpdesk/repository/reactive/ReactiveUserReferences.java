@@ -0,0 +1,31 @@
+package br.com.devisrael.helpdesk.repository.reactive;
+
+import br.com.devisrael.helpdesk.api.entity.User;
+import br.com.devisrael.helpdesk.repository.TicketQueries;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+
+final class ReactiveUserReferences {
+
+    private ReactiveUserReferences() {
+    }
+
+    static Mono<Map<String, User>> findUsers(ReactiveMongoTemplate mongoTemplate, Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        var refs = new ArrayList<Object>(ids.size());
+        for (String id : ids) {
+            refs.add(TicketQueries.toId(id));
+        }
+        var query = Query.query(Criteria.where("_id").in(refs));
+        query.fields().include("email").include("profile");
+        return mongoTemplate.find(query, User.class).collectMap(User::getId);
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.devisrael.helpdesk.repository.reactive;
+
+import br.com.devisrael.helpdesk.api.entity.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String>, ReactiveUserRepositoryCustom {
+
+    Mono<User> findByEmail(String email);
+}
@@ -0,0 +1,14 @@
+package br.com.devisrael.helpdesk.repository.reactive;
+
+import br.com.devisrael.helpdesk.api.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepositoryCustom {
+
+    Mono<Page<User>> findPage(Pageable pageable);
+
+    Mono<Slice<User>> findSlice(Pageable pageable);
+}
@@ -0,0 +1,41 @@
+package br.com.devisrael.helpdesk.repository.reactive;
+
+import br.com.devisrael.helpdesk.api.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+public class ReactiveUserRepositoryCustomImpl implements ReactiveUserRepositoryCustom {
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Page<User>> findPage(Pageable pageable) {
+        return mongoTemplate.find(new Query().with(pageable), User.class)
+                .collectList()
+                .flatMap(users -> {
+                    if (pageable.getOffset() == 0 && users.size() < pageable.getPageSize()) {
+                        return Mono.just(new PageImpl<>(users, pageable, users.size()));
+                    }
+                    return mongoTemplate.count(new Query(), User.class).map(total -> new PageImpl<>(users, pageable, total));
+                });
+    }
+
+    @Override
+    public Mono<Slice<User>> findSlice(Pageable pageable) {
+        var query = new Query().skip(pageable.getOffset()).limit(pageable.getPageSize() + 1);
+        return mongoTemplate.find(query, User.class)
+                .collectList()
+                .map(users -> {
+                    var hasNext = users.size() > pageable.getPageSize();
+                    return new SliceImpl<>(hasNext ? users.subList(0, pageable.getPageSize()) : users, pageable, hasNext);
+                });
+    }
+}
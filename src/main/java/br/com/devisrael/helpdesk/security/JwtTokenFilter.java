@@ -1,6 +1,7 @@
 package br.com.devisrael.helpdesk.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -15,6 +16,7 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
 @Component
+@Profile("!reactive")
 public class JwtTokenFilter extends OncePerRequestFilter {
 
     @Autowired
@@ -26,11 +28,13 @@ public class JwtTokenFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
         String authToken = request.getHeader("Authorization");
-        String username = jwtTokenUtil.getUsernameFromToken(authToken);
+        var verifiedToken = jwtTokenUtil.parseToken(authToken);
+        request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, verifiedToken);
+        String username = verifiedToken != null ? verifiedToken.getUsername() : null;
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             var userDetails = this.userDetailsService.loadUserByUsername(username);
-            if (jwtTokenUtil.validateToken(authToken, userDetails)) {
+            if (jwtTokenUtil.validateToken(verifiedToken, userDetails)) {
                 var authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -1,13 +1,22 @@
 package br.com.devisrael.helpdesk.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import javax.crypto.spec.SecretKeySpec;
+import javax.servlet.http.HttpServletRequest;
 import java.io.Serializable;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -25,50 +34,63 @@ public class JwtTokenUtil implements Serializable {
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    public String getUsernameFromToken(String token) {
-        String username;
+    private transient Key signingKey;
 
-        try {
-            final var claims = getClaimsFromToken(token);
-            username = claims.getSubject();
-        } catch (Exception exception) {
-            username = null;
+    private transient JwtParser parser;
+
+    @Autowired
+    private transient MeterRegistry meterRegistry;
+
+    private transient Timer parseTimer;
+
+    private transient Timer signTimer;
+
+    @PostConstruct
+    public void init() {
+        signingKey = new SecretKeySpec(TextCodec.BASE64.decode(secret), SignatureAlgorithm.HS512.getJcaName());
+        parser = Jwts.parser().setSigningKey(signingKey);
+        parseTimer = Timer.builder("jwt.token").tag("operation", "parse").register(meterRegistry);
+        signTimer = Timer.builder("jwt.token").tag("operation", "sign").register(meterRegistry);
+    }
+
+    public VerifiedToken parseToken(String token) {
+        final var claims = getClaimsFromToken(token);
+        return claims != null ? new VerifiedToken(token, claims) : null;
+    }
+
+    public VerifiedToken getVerifiedToken(HttpServletRequest request) {
+        var verifiedToken = (VerifiedToken) request.getAttribute(VerifiedToken.REQUEST_ATTRIBUTE);
+        if (verifiedToken == null) {
+            verifiedToken = parseToken(request.getHeader("Authorization"));
+            request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, verifiedToken);
         }
+        return verifiedToken;
+    }
 
-        return username;
+    public String getUsernameFromToken(String token) {
+        final var verifiedToken = parseToken(token);
+        return verifiedToken != null ? verifiedToken.getUsername() : null;
     }
 
     public Date getExpirationDateFromToken(String token) {
-        Date expiration;
-        try {
-            final var claims = getClaimsFromToken(token);
-            expiration = claims.getExpiration();
-        } catch (Exception exception) {
-            expiration = null;
-        }
-        return expiration;
+        final var verifiedToken = parseToken(token);
+        return verifiedToken != null ? verifiedToken.getExpiration() : null;
     }
 
     private Claims getClaimsFromToken(String token) {
         Claims claims;
+        var sample = Timer.start();
         try {
-            claims = Jwts.parser()
-                    .setSigningKey(secret)
-                    .parseClaimsJws(token)
-                    .getBody();
-
+            claims = parser.parseClaimsJws(token).getBody();
         } catch (Exception exception) {
             claims = null;
+        } finally {
+            sample.stop(parseTimer);
         }
 
         return claims;
     }
 
-    private Boolean isTokenExpired(String token) {
-        final var expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
-    }
-
     public String generateToken(UserDetails userDetails) {
         var claims = new HashMap<String, Object>();
 
@@ -83,22 +105,27 @@ public class JwtTokenUtil implements Serializable {
     private String doGenerateToken(Map<String, Object> claims) {
         var createdDate = (Date) claims.get(CLAIM_KEY_CREATED);
         var expirationDate = new Date(createdDate.getTime() + expiration * 1000);
-        return Jwts.builder()
-                .setClaims(claims)
-                .setExpiration(expirationDate)
-                .signWith(SignatureAlgorithm.HS512, secret)
-                .compact();
+        var sample = Timer.start();
+        try {
+            return Jwts.builder()
+                    .setClaims(claims)
+                    .setExpiration(expirationDate)
+                    .signWith(SignatureAlgorithm.HS512, signingKey)
+                    .compact();
+        } finally {
+            sample.stop(signTimer);
+        }
 
     }
 
-    public Boolean canTokenBeRefreshed(String token) {
-        return (!isTokenExpired(token));
+    public Boolean canTokenBeRefreshed(VerifiedToken verifiedToken) {
+        return verifiedToken != null && !verifiedToken.isExpired();
     }
 
-    public String refreshToken(String token) {
+    public String refreshToken(VerifiedToken verifiedToken) {
         String refreshedToken;
         try {
-            final Claims claims = getClaimsFromToken(token);
+            final var claims = new HashMap<String, Object>(verifiedToken.getClaims());
             claims.put(CLAIM_KEY_CREATED, new Date());
             refreshedToken = doGenerateToken(claims);
         } catch (Exception exception) {
@@ -107,9 +134,9 @@ public class JwtTokenUtil implements Serializable {
         return refreshedToken;
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
+    public Boolean validateToken(VerifiedToken verifiedToken, UserDetails userDetails) {
         JwtUser user = (JwtUser) userDetails;
-        final String username = getUsernameFromToken(token);
-        return username.equals(user.getUsername()) && !isTokenExpired(token);
+        final String username = verifiedToken.getUsername();
+        return username.equals(user.getUsername()) && !verifiedToken.isExpired();
     }
 }
@@ -19,6 +19,10 @@ public class JwtUser implements UserDetails {
         this.authorities = authorities;
     }
 
+    public String getId() {
+        return id;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
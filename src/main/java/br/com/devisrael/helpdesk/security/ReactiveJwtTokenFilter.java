@@ -0,0 +1,41 @@
+package br.com.devisrael.helpdesk.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+public class ReactiveJwtTokenFilter implements WebFilter {
+
+    private final JwtTokenUtil jwtTokenUtil;
+
+    private final ReactiveUserDetailsService userDetailsService;
+
+    public ReactiveJwtTokenFilter(JwtTokenUtil jwtTokenUtil, ReactiveUserDetailsService userDetailsService) {
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.userDetailsService = userDetailsService;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var verifiedToken = jwtTokenUtil.parseToken(exchange.getRequest().getHeaders().getFirst("Authorization"));
+        var username = verifiedToken != null ? verifiedToken.getUsername() : null;
+        if (username == null) {
+            return chain.filter(exchange);
+        }
+        exchange.getAttributes().put(VerifiedToken.REQUEST_ATTRIBUTE, verifiedToken);
+        return userDetailsService.findByUsername(username)
+                .filter(userDetails -> jwtTokenUtil.validateToken(verifiedToken, userDetails))
+                .map(userDetails -> Optional.of(new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities())))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> authentication
+                        .map(token -> chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(token)))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+}
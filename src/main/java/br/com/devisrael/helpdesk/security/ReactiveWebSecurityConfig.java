@@ -0,0 +1,87 @@
+package br.com.devisrael.helpdesk.security;
+
+import br.com.devisrael.helpdesk.repository.reactive.ReactiveUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+@Configuration
+@Profile("reactive")
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class ReactiveWebSecurityConfig {
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
+    }
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public ReactiveUserDetailsService reactiveUserDetailsService(ReactiveUserRepository userRepository) {
+        return username -> userRepository.findByEmail(username).map(JwtUserFactory::create);
+    }
+
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(ReactiveUserDetailsService userDetailsService) {
+        var authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        authenticationManager.setPasswordEncoder(passwordEncoder());
+        return authenticationManager;
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, ReactiveUserDetailsService userDetailsService) {
+        return http.csrf().disable()
+                .httpBasic().disable()
+                .formLogin().disable()
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling()
+                .authenticationEntryPoint((exchange, exception) -> Mono.fromRunnable(
+                        () -> exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED)))
+                .and()
+                .authorizeExchange()
+                .pathMatchers(HttpMethod.OPTIONS).permitAll()
+                .pathMatchers(
+                        HttpMethod.GET,
+                        "/",
+                        "/*.html",
+                        "/favicon.ico",
+                        "/*.css",
+                        "/*.js"
+                ).permitAll()
+                .pathMatchers("/api/auth/**").permitAll()
+                .pathMatchers("/actuator/queryshapes/**").hasRole("ADMIN")
+                .pathMatchers("/actuator/**").permitAll()
+                .anyExchange().authenticated()
+                .and()
+                .addFilterAt(new ReactiveJwtTokenFilter(jwtTokenUtil, userDetailsService), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
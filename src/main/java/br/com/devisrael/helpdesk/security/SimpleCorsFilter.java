@@ -2,6 +2,7 @@ package br.com.devisrael.helpdesk.security;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -12,6 +13,7 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
 @Component
+@Profile("!reactive")
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class SimpleCorsFilter  implements Filter {
 
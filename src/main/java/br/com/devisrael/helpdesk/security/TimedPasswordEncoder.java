@@ -0,0 +1,43 @@
+package br.com.devisrael.helpdesk.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeTimer = Timer.builder("password.encoder").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.encoder").tag("operation", "matches").register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        var sample = Timer.start();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            sample.stop(encodeTimer);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        var sample = Timer.start();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            sample.stop(matchesTimer);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.devisrael.helpdesk.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+public class VerifiedToken {
+
+    public static final String REQUEST_ATTRIBUTE = VerifiedToken.class.getName();
+
+    private final String token;
+    private final Claims claims;
+
+    public VerifiedToken(String token, Claims claims) {
+        this.token = token;
+        this.claims = claims;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public Claims getClaims() {
+        return claims;
+    }
+
+    public String getUsername() {
+        return claims.getSubject();
+    }
+
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    public boolean isExpired() {
+        var expiration = getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
+}
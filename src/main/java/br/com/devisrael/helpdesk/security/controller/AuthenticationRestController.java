@@ -1,10 +1,12 @@
 package br.com.devisrael.helpdesk.security.controller;
 
+import br.com.devisrael.helpdesk.api.entity.User;
 import br.com.devisrael.helpdesk.security.CurrentUser;
 import br.com.devisrael.helpdesk.security.JwtAuthenticationRequest;
 import br.com.devisrael.helpdesk.security.JwtTokenUtil;
 import br.com.devisrael.helpdesk.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -20,6 +22,7 @@ import org.springframework.web.bind.annotation.RestController;
 import javax.servlet.http.HttpServletRequest;
 
 @RestController
+@Profile("!reactive")
 @CrossOrigin(origins = "*")
 public class AuthenticationRestController {
 
@@ -47,19 +50,25 @@ public class AuthenticationRestController {
         SecurityContextHolder.getContext().setAuthentication(authentication);
         var userDetails = userDetailsService.loadUserByUsername(authenticationRequest.getEmail());
         var token = jwtTokenUtil.generateToken(userDetails);
-        var user = userService.findByEmail(authenticationRequest.getEmail());
-        user.setPassword(null);
+        var user = withoutPassword(userService.findByEmail(authenticationRequest.getEmail()));
         return ResponseEntity.ok(new CurrentUser(token, user));
     }
 
+    private User withoutPassword(User user) {
+        var copy = new User();
+        copy.setId(user.getId());
+        copy.setEmail(user.getEmail());
+        copy.setProfile(user.getProfile());
+        return copy;
+    }
+
     @PostMapping(value = "/api/refresh")
     public ResponseEntity<?> refreshAndGetAuthenticationToken(HttpServletRequest request) {
-        var token = request.getHeader("Authorization");
-        var username = jwtTokenUtil.getUsernameFromToken(token);
-        var user = userService.findByEmail(username);
+        var verifiedToken = jwtTokenUtil.getVerifiedToken(request);
 
-        if (jwtTokenUtil.canTokenBeRefreshed(token)) {
-            String refreshedToken = jwtTokenUtil.refreshToken(token);
+        if (jwtTokenUtil.canTokenBeRefreshed(verifiedToken)) {
+            var user = userService.findByEmail(verifiedToken.getUsername());
+            String refreshedToken = jwtTokenUtil.refreshToken(verifiedToken);
             return ResponseEntity.ok(new CurrentUser(refreshedToken, user));
         } else {
             return ResponseEntity.badRequest().body(null);
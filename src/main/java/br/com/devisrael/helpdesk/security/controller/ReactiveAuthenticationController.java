@@ -0,0 +1,69 @@
+package br.com.devisrael.helpdesk.security.controller;
+
+import br.com.devisrael.helpdesk.api.entity.User;
+import br.com.devisrael.helpdesk.repository.reactive.ReactiveUserRepository;
+import br.com.devisrael.helpdesk.security.CurrentUser;
+import br.com.devisrael.helpdesk.security.JwtAuthenticationRequest;
+import br.com.devisrael.helpdesk.security.JwtTokenUtil;
+import br.com.devisrael.helpdesk.security.JwtUserFactory;
+import br.com.devisrael.helpdesk.security.VerifiedToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@CrossOrigin(origins = "*")
+public class ReactiveAuthenticationController {
+
+    @Autowired
+    private ReactiveAuthenticationManager authenticationManager;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @PostMapping(value = "/api/auth")
+    public Mono<ResponseEntity<CurrentUser>> createAuthenticationToken(@RequestBody JwtAuthenticationRequest authenticationRequest) {
+        return authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(
+                        authenticationRequest.getEmail(),
+                        authenticationRequest.getPassword()
+                ))
+                .then(userRepository.findByEmail(authenticationRequest.getEmail()))
+                .map(user -> ResponseEntity.ok(new CurrentUser(jwtTokenUtil.generateToken(JwtUserFactory.create(user)), withoutPassword(user))))
+                .onErrorResume(AuthenticationException.class, exception -> Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).<CurrentUser>build()));
+    }
+
+    private User withoutPassword(User user) {
+        var copy = new User();
+        copy.setId(user.getId());
+        copy.setEmail(user.getEmail());
+        copy.setProfile(user.getProfile());
+        return copy;
+    }
+
+    @PostMapping(value = "/api/refresh")
+    public Mono<ResponseEntity<CurrentUser>> refreshAndGetAuthenticationToken(ServerWebExchange exchange) {
+        VerifiedToken verifiedToken = exchange.getAttribute(VerifiedToken.REQUEST_ATTRIBUTE);
+
+        if (jwtTokenUtil.canTokenBeRefreshed(verifiedToken)) {
+            return userRepository.findByEmail(verifiedToken.getUsername())
+                    .map(user -> ResponseEntity.ok(new CurrentUser(jwtTokenUtil.refreshToken(verifiedToken), withoutPassword(user))));
+        } else {
+            return Mono.just(ResponseEntity.badRequest().body(null));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.devisrael.helpdesk.service;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.data.mongodb.gridfs.GridFsOperations;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public class AttachmentResource extends AbstractResource {
+
+    private final GridFsOperations gridFsOperations;
+    private final GridFSFile file;
+
+    public AttachmentResource(GridFsOperations gridFsOperations, GridFSFile file) {
+        this.gridFsOperations = gridFsOperations;
+        this.file = file;
+    }
+
+    public String getId() {
+        return file.getObjectId().toHexString();
+    }
+
+    public String getContentType() {
+        var metadata = file.getMetadata();
+        var contentType = metadata != null ? metadata.getString("_contentType") : null;
+        return contentType != null ? contentType : "application/octet-stream";
+    }
+
+    @Override
+    public String getFilename() {
+        return file.getFilename();
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return file.getLength();
+    }
+
+    @Override
+    public long lastModified() {
+        return file.getUploadDate().getTime();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return gridFsOperations.getResource(file).getInputStream();
+    }
+
+    @Override
+    public String getDescription() {
+        return "GridFS file [" + getId() + "]";
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.devisrael.helpdesk.service;
+
+public interface AttachmentService {
+
+    String storeImage(String dataUrl);
+
+    AttachmentResource findImage(String imageId);
+
+    void delete(String imageId);
+
+    int migrateInlineImages(int batchSize);
+}
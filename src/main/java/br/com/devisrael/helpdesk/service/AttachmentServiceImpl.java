@@ -0,0 +1,110 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Service
+public class AttachmentServiceImpl implements AttachmentService {
+
+    private static final String DATA_URL_PREFIX = "data:";
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    @Autowired
+    private GridFsTemplate gridFsTemplate;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public String storeImage(String dataUrl) {
+        if (dataUrl == null || !dataUrl.startsWith(DATA_URL_PREFIX)) {
+            return null;
+        }
+        var separator = dataUrl.indexOf(',');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Image invalid");
+        }
+        var header = dataUrl.substring(DATA_URL_PREFIX.length(), separator);
+        var payload = dataUrl.substring(separator + 1);
+        var base64 = header.endsWith(";base64");
+        var contentType = header.split(";")[0];
+        var bytes = base64
+                ? Base64.getMimeDecoder().decode(payload)
+                : URLDecoder.decode(payload, StandardCharsets.UTF_8).getBytes(StandardCharsets.UTF_8);
+        var id = gridFsTemplate.store(new ByteArrayInputStream(bytes), "ticket-image",
+                contentType.isEmpty() ? "application/octet-stream" : contentType);
+        return id.toHexString();
+    }
+
+    @Override
+    public AttachmentResource findImage(String imageId) {
+        if (imageId == null || !ObjectId.isValid(imageId)) {
+            return null;
+        }
+        var file = gridFsTemplate.findOne(Query.query(Criteria.where("_id").is(new ObjectId(imageId))));
+        return file != null ? new AttachmentResource(gridFsTemplate, file) : null;
+    }
+
+    @Override
+    public void delete(String imageId) {
+        if (imageId != null && ObjectId.isValid(imageId)) {
+            gridFsTemplate.delete(Query.query(Criteria.where("_id").is(new ObjectId(imageId))));
+        }
+    }
+
+    @Override
+    public int migrateInlineImages(int batchSize) {
+        var collection = mongoTemplate.getCollectionName(Ticket.class);
+        var migrated = 0;
+        Object lastId = null;
+        while (true) {
+            var criteria = Criteria.where("image").regex("^" + DATA_URL_PREFIX);
+            if (lastId != null) {
+                criteria = criteria.and("_id").gt(lastId);
+            }
+            var query = Query.query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+            query.fields().include("image");
+            var documents = mongoTemplate.find(query, Document.class, collection);
+            if (documents.isEmpty()) {
+                break;
+            }
+            for (Document document : documents) {
+                lastId = document.get("_id");
+                var image = document.getString("image");
+                try {
+                    var imageId = storeImage(image);
+                    var result = mongoTemplate.updateFirst(
+                            Query.query(Criteria.where("_id").is(lastId).and("image").is(image)),
+                            new Update().set("imageId", imageId).unset("image"),
+                            collection);
+                    if (result.getModifiedCount() == 0) {
+                        delete(imageId);
+                    } else {
+                        migrated++;
+                    }
+                } catch (RuntimeException exception) {
+                    logger.warn("HelpDesk-API | image of ticket " + lastId + " not migrated: " + exception.getMessage());
+                }
+            }
+            logger.info("HelpDesk-API | migrated " + migrated + " inline ticket images");
+        }
+        return migrated;
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.dto.TicketFilter;
+
+public interface CountService {
+
+    long estimateTickets(TicketFilter filter);
+
+    long estimateUsers();
+}
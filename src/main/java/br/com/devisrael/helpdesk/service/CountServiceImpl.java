@@ -0,0 +1,78 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.dto.TicketFilter;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import br.com.devisrael.helpdesk.api.entity.User;
+import br.com.devisrael.helpdesk.repository.TicketRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+
+@Service
+public class CountServiceImpl implements CountService, MeterBinder {
+
+    @Lazy
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Lazy
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private TaskExecutor taskExecutor;
+
+    @Value("${ticket.count.maximum-size}")
+    private long maximumSize;
+
+    @Value("${ticket.count.refresh-after}")
+    private Duration refreshAfter;
+
+    @Value("${ticket.count.expire-after}")
+    private Duration expireAfter;
+
+    private LoadingCache<TicketFilter, Long> ticketCounts;
+
+    @PostConstruct
+    public void init() {
+        ticketCounts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .executor(taskExecutor)
+                .build(ticketRepository::countByFilter);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, ticketCounts, "ticketCounts");
+    }
+
+    @Override
+    public long estimateTickets(TicketFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return mongoTemplate.estimatedCount(Ticket.class);
+        }
+        return ticketCounts.get(filter);
+    }
+
+    @Override
+    public long estimateUsers() {
+        return mongoTemplate.estimatedCount(User.class);
+    }
+}
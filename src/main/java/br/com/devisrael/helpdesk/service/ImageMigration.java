@@ -0,0 +1,29 @@
+package br.com.devisrael.helpdesk.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ImageMigration implements ApplicationRunner {
+
+    public static final String MIGRATE_OPTION = "migrate-images";
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Value("${ticket.image.migrate-on-startup}")
+    private boolean migrateOnStartup;
+
+    @Value("${ticket.image.migration-batch-size}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (migrateOnStartup || args.containsOption(MIGRATE_OPTION)) {
+            attachmentService.migrateInlineImages(batchSize);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.dto.CursorPage;
+import br.com.devisrael.helpdesk.api.dto.ImportReport;
+import br.com.devisrael.helpdesk.api.dto.StatusChangeReport;
+import br.com.devisrael.helpdesk.api.dto.Summary;
+import br.com.devisrael.helpdesk.api.dto.TicketFilter;
+import br.com.devisrael.helpdesk.api.dto.TicketListItem;
+import br.com.devisrael.helpdesk.api.entity.Change;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import br.com.devisrael.helpdesk.api.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveTicketService {
+
+    Mono<Ticket> createOrUpdate(Ticket ticket);
+
+    Mono<Ticket> findById(String id);
+
+    Mono<Long> findVersion(String id);
+
+    Mono<Ticket> changeStatus(String id, Status status, Long expectedVersion, User user);
+
+    Mono<StatusChangeReport> changeStatus(List<String> ids, Status status, User user);
+
+    Mono<ImportReport> importTickets(Flux<String> lines, User owner);
+
+    Flux<String> export(TicketFilter filter, TicketExportService.Format format);
+
+    Mono<String> findImageId(String id);
+
+    Mono<Boolean> delete(String id);
+
+    Mono<Integer> nextTicketNumber();
+
+    Mono<Page<TicketListItem>> listTickets(int page, int count);
+
+    Mono<CursorPage<TicketListItem>> listTicketsByCursor(TicketFilter filter, String cursor, int count);
+
+    Mono<Slice<TicketListItem>> findSlice(TicketFilter filter, int page, int count);
+
+    Mono<Change> createChangeStatus(Change change);
+
+    Mono<List<Change>> listChangeStatus(String ticketId, int page, int count);
+
+    Mono<Page<TicketListItem>> findByCurrentUser(int page, int count, String userId);
+
+    Mono<Page<TicketListItem>> findByParameter(int page, int count, String title, String status, String priority);
+
+    Mono<Page<TicketListItem>> findByNumber(int page, int count, Integer number);
+
+    Mono<Page<TicketListItem>> findByParameterAndAssignedUser(int page, int count, String title, String status, String priority, String assignedUser);
+
+    Mono<Slice<TicketListItem>> search(String text, TicketFilter filter, int page, int count);
+
+    Mono<Summary> getSummary();
+
+    Mono<Long> getSummaryVersion();
+}
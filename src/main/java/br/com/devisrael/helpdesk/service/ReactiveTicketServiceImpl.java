@@ -0,0 +1,311 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.dto.CursorPage;
+import br.com.devisrael.helpdesk.api.dto.ImportReport;
+import br.com.devisrael.helpdesk.api.dto.StatusChangeReport;
+import br.com.devisrael.helpdesk.api.dto.Summary;
+import br.com.devisrael.helpdesk.api.dto.TicketCursor;
+import br.com.devisrael.helpdesk.api.dto.TicketEvent;
+import br.com.devisrael.helpdesk.api.dto.TicketFilter;
+import br.com.devisrael.helpdesk.api.dto.TicketListItem;
+import br.com.devisrael.helpdesk.api.entity.Change;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import br.com.devisrael.helpdesk.api.entity.SummaryCounter;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import br.com.devisrael.helpdesk.api.entity.User;
+import br.com.devisrael.helpdesk.repository.TicketQueries;
+import br.com.devisrael.helpdesk.repository.reactive.ReactiveChangeStatusRepository;
+import br.com.devisrael.helpdesk.repository.reactive.ReactiveTicketRepository;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@Profile("reactive")
+public class ReactiveTicketServiceImpl implements ReactiveTicketService {
+
+    @Autowired
+    private ReactiveTicketRepository ticketRepository;
+
+    @Autowired
+    private ReactiveChangeStatusRepository changeStatusRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private SequenceService sequenceService;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private SummaryService summaryService;
+
+    @Autowired
+    private TicketFeedService ticketFeedService;
+
+    @Autowired
+    private TicketService blockingTicketService;
+
+    @Autowired
+    private TicketImportService ticketImportService;
+
+    @Autowired
+    private TicketExportService ticketExportService;
+
+    @Value("${ticket.export.batch-size}")
+    private int exportBatchSize;
+
+    @Value("${ticket.update.require-version}")
+    private boolean requireVersion;
+
+    @Override
+    public Mono<Ticket> createOrUpdate(Ticket ticket) {
+        var current = ticket.getId() != null
+                ? ticketRepository.findCurrentState(ticket.getId()).map(Optional::of).defaultIfEmpty(Optional.empty())
+                : Mono.just(Optional.<Ticket>empty());
+        return current.flatMap(ticketCurrent -> version(ticket, ticketCurrent).then(storeImage(ticket.getImage())).flatMap(imageId -> {
+            var previousImageId = ticketCurrent.map(Ticket::getImageId).orElse(null);
+            if (imageId.isPresent()) {
+                ticket.setImageId(imageId.get());
+                ticket.setImage(null);
+            } else if (ticket.getImageId() == null) {
+                ticket.setImageId(previousImageId);
+            }
+            return ticketRepository.save(ticket)
+                    .onErrorResume(e -> imageId.map(this::deleteImage).orElse(Mono.empty()).then(Mono.<Ticket>error(e)))
+                    .flatMap(ticketPersisted -> {
+                        var replacedImage = previousImageId != null && !previousImageId.equals(ticketPersisted.getImageId());
+                        var previousStatus = ticketCurrent.map(Ticket::getStatus).orElse(null);
+                        return (replacedImage ? deleteImage(previousImageId) : Mono.<Void>empty())
+                                .then(transition(previousStatus, ticketPersisted.getStatus()))
+                                .doOnSuccess(done -> ticketFeedService.publish(
+                                        TicketServiceImpl.eventType(ticketCurrent.orElse(null), ticketPersisted), ticketPersisted, previousStatus))
+                                .thenReturn(ticketPersisted);
+                    });
+        }));
+    }
+
+    private Mono<Void> version(Ticket ticket, Optional<Ticket> ticketCurrent) {
+        if (ticketCurrent.isEmpty() || ticket.getVersion() != null) {
+            return Mono.empty();
+        }
+        if (ticketCurrent.get().getVersion() != null) {
+            if (requireVersion) {
+                return Mono.error(new TicketVersionRequiredException(ticket.getId()));
+            }
+            ticket.setVersion(ticketCurrent.get().getVersion());
+            return Mono.empty();
+        }
+        var query = Query.query(Criteria.where("id").is(ticket.getId()).and("version").exists(false));
+        return mongoTemplate.updateFirst(query, Update.update("version", 0L), Ticket.class)
+                .doOnNext(result -> ticket.setVersion(0L))
+                .then();
+    }
+
+    private Mono<Optional<String>> storeImage(String image) {
+        if (image == null || image.isEmpty()) {
+            return Mono.just(Optional.empty());
+        }
+        return Mono.fromCallable(() -> Optional.ofNullable(attachmentService.storeImage(image)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Void> deleteImage(String imageId) {
+        if (imageId == null) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(() -> attachmentService.delete(imageId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private Mono<Void> transition(Status from, Status to) {
+        if (from == to) {
+            return Mono.empty();
+        }
+        var query = Query.query(Criteria.where("id").is(SummaryCounter.TICKET_STATUS));
+        return mongoTemplate.upsert(query, SummaryServiceImpl.transitionUpdate(from, to), SummaryCounter.class)
+                .doOnSuccess(result -> ticketFeedService.publishSummary(SummaryServiceImpl.transitionDelta(from, to)))
+                .then();
+    }
+
+    @Override
+    public Mono<Ticket> findById(String id) {
+        return ticketRepository.findTicket(id);
+    }
+
+    @Override
+    public Mono<Long> findVersion(String id) {
+        return ticketRepository.findCurrentState(id).flatMap(ticket -> Mono.justOrEmpty(ticket.getVersion()));
+    }
+
+    @Override
+    public Mono<Ticket> changeStatus(String id, Status status, Long expectedVersion, User user) {
+        var assignedUserId = status == Status.ASSIGNED ? user.getId() : null;
+        return ticketRepository.findAndTransitionStatus(id, status, expectedVersion, assignedUserId)
+                .switchIfEmpty(ticketRepository.findCurrentState(id)
+                        .<Ticket>flatMap(ticketCurrent -> Mono.error(TicketConflictException.of(id, ticketCurrent.getStatus(), status))))
+                .flatMap(ticket -> {
+                    var previousStatus = ticket.getStatus();
+                    ticket.setStatus(status);
+                    ticket.setVersion(ticket.getVersion() != null ? ticket.getVersion() + 1 : 1L);
+                    if (assignedUserId != null) {
+                        ticket.setAssignedUser(user);
+                    }
+                    var change = new Change();
+                    change.setUserChange(user);
+                    change.setDateChangeStatus(new Date());
+                    change.setStatus(status);
+                    change.setTicket(ticket);
+                    return transition(previousStatus, status)
+                            .then(changeStatusRepository.save(change))
+                            .doOnSuccess(saved -> ticketFeedService.publish(TicketEvent.Type.STATUS_CHANGED, ticket, previousStatus))
+                            .thenReturn(ticket);
+                });
+    }
+
+    @Override
+    public Mono<StatusChangeReport> changeStatus(List<String> ids, Status status, User user) {
+        return Mono.fromCallable(() -> blockingTicketService.changeStatus(ids, status, user))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<ImportReport> importTickets(Flux<String> lines, User owner) {
+        return Mono.fromCallable(() -> ticketImportService.start(owner))
+                .flatMap(session -> lines.publishOn(Schedulers.boundedElastic())
+                        .doOnNext(session::accept)
+                        .then(Mono.fromCallable(session::finish)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Flux<String> export(TicketFilter filter, TicketExportService.Format format) {
+        var rows = mongoTemplate.find(TicketQueries.exportQuery(filter, exportBatchSize), Document.class,
+                        mongoTemplate.getCollectionName(Ticket.class))
+                .map(document -> ticketExportService.line(document, format));
+        var header = ticketExportService.header(format);
+        return header != null ? rows.startWith(header) : rows;
+    }
+
+    @Override
+    public Mono<String> findImageId(String id) {
+        return ticketRepository.findCurrentState(id).flatMap(ticket -> Mono.justOrEmpty(ticket.getImageId()));
+    }
+
+    @Override
+    public Mono<Boolean> delete(String id) {
+        return ticketRepository.findAndRemoveTicket(id)
+                .flatMap(ticketRemoved -> transition(ticketRemoved.getStatus(), null)
+                        .then(deleteImage(ticketRemoved.getImageId()))
+                        .doOnSuccess(done -> ticketFeedService.publish(TicketEvent.Type.DELETED, ticketRemoved, null))
+                        .thenReturn(true))
+                .defaultIfEmpty(false);
+    }
+
+    @Override
+    public Mono<Integer> nextTicketNumber() {
+        return Mono.fromCallable(sequenceService::nextTicketNumber).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Page<TicketListItem>> listTickets(int page, int count) {
+        return ticketRepository.findPage(new TicketFilter(), PageRequest.of(page, count, TicketQueries.INSERTION_ORDER));
+    }
+
+    @Override
+    public Mono<CursorPage<TicketListItem>> listTicketsByCursor(TicketFilter filter, String cursor, int count) {
+        return Mono.defer(() -> ticketRepository.findByCursor(filter, TicketCursor.decode(cursor), count + 1))
+                .map(tickets -> {
+                    if (tickets.size() <= count) {
+                        return new CursorPage<>(tickets, null);
+                    }
+                    var content = tickets.subList(0, count);
+                    var last = content.get(count - 1);
+                    return new CursorPage<>(content, new TicketCursor(last.getDate(), last.getId()).encode());
+                });
+    }
+
+    @Override
+    public Mono<Slice<TicketListItem>> findSlice(TicketFilter filter, int page, int count) {
+        return ticketRepository.findSlice(filter, PageRequest.of(page, count));
+    }
+
+    @Override
+    public Mono<Change> createChangeStatus(Change change) {
+        return changeStatusRepository.save(change);
+    }
+
+    @Override
+    public Mono<List<Change>> listChangeStatus(String ticketId, int page, int count) {
+        return changeStatusRepository.findHistoryByTicketId(ticketId, page, count);
+    }
+
+    @Override
+    public Mono<Page<TicketListItem>> findByCurrentUser(int page, int count, String userId) {
+        var filter = new TicketFilter();
+        filter.setUserId(userId);
+        return ticketRepository.findPage(filter, PageRequest.of(page, count, TicketQueries.OLDEST_FIRST));
+    }
+
+    @Override
+    public Mono<Page<TicketListItem>> findByParameter(int page, int count, String title, String status, String priority) {
+        return ticketRepository.findPage(TicketFilter.fromParameters(title, status, priority), PageRequest.of(page, count, TicketQueries.OLDEST_FIRST));
+    }
+
+    @Override
+    public Mono<Page<TicketListItem>> findByNumber(int page, int count, Integer number) {
+        var filter = new TicketFilter();
+        filter.setNumber(number);
+        return ticketRepository.findPage(filter, PageRequest.of(page, count, TicketQueries.INSERTION_ORDER));
+    }
+
+    @Override
+    public Mono<Page<TicketListItem>> findByParameterAndAssignedUser(int page, int count, String title, String status, String priority, String assignedUser) {
+        var filter = TicketFilter.fromParameters(title, status, priority);
+        filter.setAssignedUserId(assignedUser);
+        return ticketRepository.findPage(filter, PageRequest.of(page, count, TicketQueries.OLDEST_FIRST));
+    }
+
+    @Override
+    public Mono<Slice<TicketListItem>> search(String text, TicketFilter filter, int page, int count) {
+        return ticketRepository.search(text, filter, PageRequest.of(page, count));
+    }
+
+    @Override
+    public Mono<Long> getSummaryVersion() {
+        var query = Query.query(Criteria.where("id").is(SummaryCounter.TICKET_STATUS));
+        query.fields().include("version");
+        return mongoTemplate.findOne(query, SummaryCounter.class).flatMap(counter -> Mono.justOrEmpty(counter.getVersion()));
+    }
+
+    @Override
+    public Mono<Summary> getSummary() {
+        var counter = mongoTemplate.findById(SummaryCounter.TICKET_STATUS, SummaryCounter.class);
+        return counter
+                .switchIfEmpty(Mono.fromRunnable(summaryService::rebuild)
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .then(counter))
+                .map(summaryCounter -> Summary.fromCounters(summaryCounter.getCounters() != null ? summaryCounter.getCounters() : Map.of()))
+                .defaultIfEmpty(Summary.fromCounters(Map.of()));
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserService {
+
+    Mono<User> createOrUpdate(User user);
+
+    Mono<User> findById(String id);
+
+    Mono<Void> delete(String id);
+
+    Mono<Page<User>> findAll(int page, int count);
+
+    Mono<Slice<User>> findSlice(int page, int count);
+}
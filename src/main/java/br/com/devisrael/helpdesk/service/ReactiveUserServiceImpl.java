@@ -0,0 +1,60 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.entity.User;
+import br.com.devisrael.helpdesk.repository.UserReferenceResolver;
+import br.com.devisrael.helpdesk.repository.reactive.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private UserReferenceResolver userReferenceResolver;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Override
+    public Mono<User> createOrUpdate(User user) {
+        return userRepository.save(user).doOnSuccess(userPersisted -> invalidateCaches());
+    }
+
+    @Override
+    public Mono<User> findById(String id) {
+        return userRepository.findById(id);
+    }
+
+    @Override
+    public Mono<Void> delete(String id) {
+        return userRepository.deleteById(id).doOnSuccess(ignored -> invalidateCaches());
+    }
+
+    @Override
+    public Mono<Page<User>> findAll(int page, int count) {
+        return userRepository.findPage(PageRequest.of(page, count));
+    }
+
+    @Override
+    public Mono<Slice<User>> findSlice(int page, int count) {
+        return userRepository.findSlice(PageRequest.of(page, count));
+    }
+
+    private void invalidateCaches() {
+        var cache = cacheManager.getCache(UserService.USERS_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+        userReferenceResolver.invalidateAll();
+    }
+}
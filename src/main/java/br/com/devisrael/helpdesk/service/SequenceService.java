@@ -0,0 +1,6 @@
+package br.com.devisrael.helpdesk.service;
+
+public interface SequenceService {
+
+    Integer nextTicketNumber();
+}
@@ -0,0 +1,93 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.entity.Sequence;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class SequenceServiceImpl implements SequenceService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${ticket.number.block-size}")
+    private int blockSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Block block = new Block(1, 0);
+
+    private boolean seeded;
+
+    @Override
+    public Integer nextTicketNumber() {
+        while (true) {
+            var current = block;
+            var number = current.next.getAndIncrement();
+            if (number <= current.last) {
+                return Math.toIntExact(number);
+            }
+            lock.lock();
+            try {
+                if (block == current) {
+                    block = reserveBlock();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Block reserveBlock() {
+        seedFromTickets();
+        var query = Query.query(Criteria.where("id").is(Sequence.TICKET_NUMBER));
+        var update = new Update().inc("value", blockSize);
+        var options = FindAndModifyOptions.options().returnNew(true).upsert(true);
+        var sequence = mongoTemplate.findAndModify(query, update, options, Sequence.class);
+        long last = sequence.getValue();
+        return new Block(last - blockSize + 1, last);
+    }
+
+    private void seedFromTickets() {
+        if (seeded) {
+            return;
+        }
+        if (!mongoTemplate.exists(Query.query(Criteria.where("id").is(Sequence.TICKET_NUMBER)), Sequence.class)) {
+            var query = new Query().with(Sort.by(Sort.Direction.DESC, "number")).limit(1);
+            query.fields().include("number");
+            var ticket = mongoTemplate.findOne(query, Ticket.class);
+            var sequence = new Sequence();
+            sequence.setId(Sequence.TICKET_NUMBER);
+            sequence.setValue(ticket != null && ticket.getNumber() != null ? ticket.getNumber().longValue() : 0L);
+            try {
+                mongoTemplate.insert(sequence);
+            } catch (DuplicateKeyException exception) {
+                // another node seeded the sequence first
+            }
+        }
+        seeded = true;
+    }
+
+    private static class Block {
+
+        private final AtomicLong next;
+        private final long last;
+
+        Block(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
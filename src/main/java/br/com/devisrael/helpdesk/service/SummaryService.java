@@ -0,0 +1,23 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.dto.Summary;
+import br.com.devisrael.helpdesk.api.entity.Status;
+
+import java.util.Map;
+
+public interface SummaryService {
+
+    Summary getSummary();
+
+    Long getVersion();
+
+    void increment(Status status);
+
+    void decrement(Status status);
+
+    void transition(Status from, Status to);
+
+    void add(Map<Status, Long> amounts);
+
+    void rebuild();
+}
@@ -0,0 +1,161 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.dto.Summary;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import br.com.devisrael.helpdesk.api.entity.SummaryCounter;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+public class SummaryServiceImpl implements SummaryService {
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TicketFeedService ticketFeedService;
+
+    @Override
+    public Summary getSummary() {
+        var counter = mongoTemplate.findById(SummaryCounter.TICKET_STATUS, SummaryCounter.class);
+        if (counter == null) {
+            rebuild();
+            counter = mongoTemplate.findById(SummaryCounter.TICKET_STATUS, SummaryCounter.class);
+        }
+        Map<String, Long> counters = counter != null && counter.getCounters() != null ? counter.getCounters() : Map.of();
+        return Summary.fromCounters(counters);
+    }
+
+    @Override
+    public Long getVersion() {
+        var query = Query.query(Criteria.where("id").is(SummaryCounter.TICKET_STATUS));
+        query.fields().include("version");
+        var counter = mongoTemplate.findOne(query, SummaryCounter.class);
+        return counter != null ? counter.getVersion() : null;
+    }
+
+    @Override
+    public void increment(Status status) {
+        transition(null, status);
+    }
+
+    @Override
+    public void decrement(Status status) {
+        transition(status, null);
+    }
+
+    @Override
+    public void transition(Status from, Status to) {
+        if (from == to) {
+            return;
+        }
+        mongoTemplate.upsert(Query.query(Criteria.where("id").is(SummaryCounter.TICKET_STATUS)), transitionUpdate(from, to), SummaryCounter.class);
+        ticketFeedService.publishSummary(transitionDelta(from, to));
+    }
+
+    @Override
+    public void add(Map<Status, Long> amounts) {
+        if (amounts.isEmpty()) {
+            return;
+        }
+        var update = new Update().inc("version", 1);
+        amounts.forEach((status, amount) -> update.inc(counterField(status), amount));
+        mongoTemplate.upsert(Query.query(Criteria.where("id").is(SummaryCounter.TICKET_STATUS)), update, SummaryCounter.class);
+        ticketFeedService.publishSummary(amounts);
+    }
+
+    public static Update transitionUpdate(Status from, Status to) {
+        var update = new Update().inc("version", 1);
+        if (from != null) {
+            update.inc(counterField(from), -1);
+        }
+        if (to != null) {
+            update.inc(counterField(to), 1);
+        }
+        return update;
+    }
+
+    public static Map<Status, Long> transitionDelta(Status from, Status to) {
+        var delta = new EnumMap<Status, Long>(Status.class);
+        if (from != null) {
+            delta.put(from, -1L);
+        }
+        if (to != null) {
+            delta.merge(to, 1L, Long::sum);
+        }
+        return delta;
+    }
+
+    private static String counterField(Status status) {
+        return "counters." + status.name();
+    }
+
+    @Override
+    public void rebuild() {
+        var current = mongoTemplate.findById(SummaryCounter.TICKET_STATUS, SummaryCounter.class);
+        var delta = correction(current, countByStatus());
+        if (delta.isEmpty() && current != null && current.getVersion() != null) {
+            return;
+        }
+        var update = new Update().inc("version", 1);
+        for (Status status : Status.values()) {
+            var amount = delta.getOrDefault(status, 0L);
+            if (amount != 0 || current == null) {
+                update.inc(counterField(status), amount);
+            }
+        }
+        var previous = mongoTemplate.findAndModify(Query.query(Criteria.where("id").is(SummaryCounter.TICKET_STATUS)),
+                update, FindAndModifyOptions.options().upsert(true), SummaryCounter.class);
+        if (previous != null && current != null && !Objects.equals(previous.getVersion(), current.getVersion())) {
+            logger.debug("HelpDesk-API | summary counters moved from version " + current.getVersion() + " to "
+                    + previous.getVersion() + " during rebuild");
+        }
+        ticketFeedService.publishSummary(delta);
+    }
+
+    private Map<Status, Long> countByStatus() {
+        var totals = new EnumMap<Status, Long>(Status.class);
+        var aggregation = Aggregation.newAggregation(Aggregation.group("status").count().as("total"));
+        for (Document result : mongoTemplate.aggregate(aggregation, Ticket.class, Document.class)) {
+            var status = result.get("_id");
+            if (status != null) {
+                totals.put(Status.valueOf(status.toString()), ((Number) result.get("total")).longValue());
+            }
+        }
+        return totals;
+    }
+
+    private static Map<Status, Long> correction(SummaryCounter current, Map<Status, Long> totals) {
+        var delta = new EnumMap<Status, Long>(Status.class);
+        for (Status status : Status.values()) {
+            var previous = current != null && current.getCounters() != null ? current.getCounters().get(status.name()) : null;
+            var amount = totals.getOrDefault(status, 0L) - (previous != null ? previous : 0L);
+            if (amount != 0) {
+                delta.put(status, amount);
+            }
+        }
+        return delta;
+    }
+
+    @Scheduled(initialDelayString = "${summary.reconcile.initial-delay}", fixedDelayString = "${summary.reconcile.delay}")
+    public void reconcile() {
+        rebuild();
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.entity.Status;
+
+public class TicketConflictException extends RuntimeException {
+
+    public TicketConflictException(String message) {
+        super(message);
+    }
+
+    public static TicketConflictException of(String id, Status current, Status target) {
+        if (current != null && !current.canTransitionTo(target)) {
+            return new TicketConflictException(String.format("Status transition from %s to %s not allowed", current, target));
+        }
+        return new TicketConflictException(String.format("Ticket %s was modified concurrently", id));
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.dto.TicketFilter;
+import org.bson.Document;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TicketExportService {
+
+    enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    void export(TicketFilter filter, Format format, OutputStream output) throws IOException;
+
+    String header(Format format);
+
+    String line(Document document, Format format);
+}
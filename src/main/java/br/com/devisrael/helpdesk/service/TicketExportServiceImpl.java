@@ -0,0 +1,127 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.dto.TicketFilter;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import br.com.devisrael.helpdesk.repository.TicketQueries;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.LinkedHashMap;
+
+@Service
+public class TicketExportServiceImpl implements TicketExportService {
+
+    private static final String[] COLUMNS = {"id", "number", "title", "description", "status", "priority", "date", "userId", "assignedUserId", "imageId"};
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${ticket.export.batch-size}")
+    private int batchSize;
+
+    @Override
+    public void export(TicketFilter filter, Format format, OutputStream output) throws IOException {
+        var query = TicketQueries.exportQuery(filter, batchSize);
+        try (var cursor = mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(Ticket.class))) {
+            var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            var header = header(format);
+            if (header != null) {
+                writer.write(header);
+            }
+            var rows = 0;
+            while (cursor.hasNext()) {
+                writer.write(line(cursor.next(), format));
+                if (++rows % batchSize == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        }
+    }
+
+    @Override
+    public String header(Format format) {
+        return format == Format.CSV ? csvLine(COLUMNS) : null;
+    }
+
+    @Override
+    public String line(Document document, Format format) {
+        var row = row(document);
+        return format == Format.CSV ? csvLine(row) : jsonLine(row);
+    }
+
+    private Object[] row(Document document) {
+        var status = document.get("status");
+        var priority = document.get("priority");
+        return new Object[]{
+                String.valueOf(document.get("_id")),
+                document.getInteger("number"),
+                document.getString("title"),
+                document.getString("description"),
+                status != null ? status.toString() : null,
+                priority != null ? priority.toString() : null,
+                document.getDate("date"),
+                referenceId(document.get("user", DBRef.class)),
+                referenceId(document.get("assignedUser", DBRef.class)),
+                document.getString("imageId")
+        };
+    }
+
+    private String referenceId(DBRef ref) {
+        return ref != null ? String.valueOf(ref.getId()) : null;
+    }
+
+    private String jsonLine(Object[] row) {
+        var fields = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (row[i] instanceof Date date) {
+                fields.put(COLUMNS[i], date.toInstant().toString());
+            } else if (row[i] != null) {
+                fields.put(COLUMNS[i], row[i] instanceof Integer ? row[i] : row[i].toString());
+            }
+        }
+        try {
+            return objectMapper.writeValueAsString(fields) + "\n";
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csvLine(Object[] row) {
+        var line = new StringBuilder();
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            if (row[i] instanceof Date date) {
+                line.append(date.toInstant());
+            } else if (row[i] != null) {
+                line.append(escape(row[i].toString()));
+            }
+        }
+        return line.append("\r\n").toString();
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.dto.TicketEvent;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import br.com.devisrael.helpdesk.api.entity.User;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+@Component
+public interface TicketFeedService {
+
+    void publish(TicketEvent.Type type, Ticket ticket, Status previousStatus);
+
+    void publishSummary(Map<Status, Long> delta);
+
+    Flux<TicketEvent> subscribe(User user);
+}
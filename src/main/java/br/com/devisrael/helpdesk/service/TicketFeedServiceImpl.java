@@ -0,0 +1,69 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.dto.TicketEvent;
+import br.com.devisrael.helpdesk.api.entity.Profile;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import br.com.devisrael.helpdesk.api.entity.User;
+import br.com.devisrael.helpdesk.repository.UserReferenceResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+
+@Service
+public class TicketFeedServiceImpl implements TicketFeedService {
+
+    private final Sinks.Many<TicketEvent> events = Sinks.many().multicast().directBestEffort();
+
+    @Value("${ticket.feed.buffer-size}")
+    private int bufferSize;
+
+    @Override
+    public void publish(TicketEvent.Type type, Ticket ticket, Status previousStatus) {
+        var event = new TicketEvent();
+        event.setType(type);
+        event.setTicketId(ticket.getId());
+        event.setNumber(ticket.getNumber());
+        event.setTitle(ticket.getTitle());
+        event.setStatus(ticket.getStatus());
+        event.setPreviousStatus(previousStatus);
+        event.setPriority(ticket.getPriority());
+        event.setVersion(ticket.getVersion());
+        event.setOwnerId(ticket.getUser() != null ? UserReferenceResolver.referenceId(ticket.getUser()) : null);
+        emit(event);
+    }
+
+    @Override
+    public void publishSummary(Map<Status, Long> delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        var event = new TicketEvent();
+        event.setType(TicketEvent.Type.SUMMARY);
+        event.setSummaryDelta(delta);
+        emit(event);
+    }
+
+    @Override
+    public Flux<TicketEvent> subscribe(User user) {
+        return events.asFlux()
+                .filter(event -> visibleTo(event, user))
+                .onBackpressureBuffer(bufferSize);
+    }
+
+    private void emit(TicketEvent event) {
+        while (events.tryEmitNext(event) == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private boolean visibleTo(TicketEvent event, User user) {
+        if (event.getType() == TicketEvent.Type.SUMMARY || user.getProfile() != Profile.ROLE_COSTUMER) {
+            return true;
+        }
+        return user.getId() != null && user.getId().equals(event.getOwnerId());
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.dto.ImportReport;
+import br.com.devisrael.helpdesk.api.entity.User;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface TicketImportService {
+
+    ImportReport importTickets(InputStream ndjson, User owner) throws IOException;
+
+    ImportSession start(User owner);
+
+    interface ImportSession {
+
+        void accept(String line);
+
+        void reject(String error);
+
+        ImportReport finish();
+    }
+}
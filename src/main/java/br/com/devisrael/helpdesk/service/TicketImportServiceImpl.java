@@ -0,0 +1,267 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.dto.ImportReport;
+import br.com.devisrael.helpdesk.api.dto.TicketEvent;
+import br.com.devisrael.helpdesk.api.entity.Profile;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import br.com.devisrael.helpdesk.api.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class TicketImportServiceImpl implements TicketImportService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SequenceService sequenceService;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private SummaryService summaryService;
+
+    @Autowired
+    private TicketFeedService ticketFeedService;
+
+    @Value("${ticket.import.batch-size}")
+    private int batchSize;
+
+    @Value("${ticket.import.max-errors}")
+    private int maxErrors;
+
+    @Value("${ticket.import.max-line-size}")
+    private DataSize maxLineSize;
+
+    @Override
+    public ImportReport importTickets(InputStream ndjson, User owner) throws IOException {
+        var session = start(owner);
+        var reader = new BoundedLineReader(ndjson, maxLineSize.toBytes());
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (reader.isOversized()) {
+                session.reject("Line exceeds " + maxLineSize.toBytes() + " bytes");
+            } else {
+                session.accept(line);
+            }
+        }
+        return session.finish();
+    }
+
+    @Override
+    public ImportSession start(User owner) {
+        return new BatchImportSession(owner);
+    }
+
+    private class BatchImportSession implements ImportSession {
+
+        private final User owner;
+        private final ImportReport report = new ImportReport();
+        private final List<Ticket> batch = new ArrayList<>(batchSize);
+        private final List<Long> lines = new ArrayList<>(batchSize);
+        private final Map<String, Boolean> technicians = new HashMap<>();
+        private long lineNumber;
+
+        BatchImportSession(User owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void accept(String line) {
+            lineNumber++;
+            if (line.isBlank()) {
+                return;
+            }
+            try {
+                var ticket = objectMapper.readValue(line, Ticket.class);
+                validateCreateTicket(ticket);
+                prepare(ticket, owner, technicians);
+                batch.add(ticket);
+                lines.add(lineNumber);
+            } catch (JsonProcessingException e) {
+                report.addError(lineNumber, e.getOriginalMessage(), maxErrors);
+            } catch (Exception e) {
+                report.addError(lineNumber, e.getMessage(), maxErrors);
+            }
+            if (batch.size() >= batchSize) {
+                flush(batch, lines, report);
+            }
+        }
+
+        @Override
+        public void reject(String error) {
+            lineNumber++;
+            report.addError(lineNumber, error, maxErrors);
+        }
+
+        @Override
+        public ImportReport finish() {
+            flush(batch, lines, report);
+            return report;
+        }
+    }
+
+    private void validateCreateTicket(Ticket ticket) {
+        if (ticket.getTitle() == null) {
+            throw new IllegalArgumentException("Title no information");
+        }
+    }
+
+    private void prepare(Ticket ticket, User owner, Map<String, Boolean> technicians) {
+        ticket.setId(null);
+        ticket.setUser(owner);
+        if (owner.getProfile() != Profile.ROLE_ADMIN) {
+            ticket.setStatus(Status.NEW);
+            ticket.setAssignedUser(null);
+            ticket.setDate(new Date());
+        } else {
+            if (ticket.getStatus() == null) {
+                ticket.setStatus(Status.NEW);
+            }
+            if (ticket.getDate() == null) {
+                ticket.setDate(new Date());
+            }
+            validateAssignedUser(ticket, technicians);
+        }
+        ticket.setNumber(sequenceService.nextTicketNumber());
+        ticket.setVersion(0L);
+        var imageId = attachmentService.storeImage(ticket.getImage());
+        if (imageId != null) {
+            ticket.setImageId(imageId);
+            ticket.setImage(null);
+        }
+    }
+
+    private void validateAssignedUser(Ticket ticket, Map<String, Boolean> technicians) {
+        var assignedUser = ticket.getAssignedUser();
+        if (assignedUser == null) {
+            return;
+        }
+        var id = assignedUser.getId();
+        if (id == null || !technicians.computeIfAbsent(id, this::isTechnician)) {
+            throw new IllegalArgumentException("Assigned user not found id:" + id);
+        }
+    }
+
+    private boolean isTechnician(String id) {
+        var query = Query.query(Criteria.where("id").is(id).and("profile").is(Profile.ROLE_TECHNICIAN));
+        return mongoTemplate.exists(query, User.class);
+    }
+
+    private void flush(List<Ticket> batch, List<Long> lines, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        var failed = new HashSet<Integer>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Ticket.class).insert(batch).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+                report.addError(lines.get(error.getIndex()), error.getMessage(), maxErrors);
+            }
+        }
+        var counters = new EnumMap<Status, Long>(Status.class);
+        for (int i = 0; i < batch.size(); i++) {
+            var ticket = batch.get(i);
+            if (failed.contains(i)) {
+                attachmentService.delete(ticket.getImageId());
+            } else {
+                counters.merge(ticket.getStatus(), 1L, Long::sum);
+                ticketFeedService.publish(TicketEvent.Type.CREATED, ticket, null);
+            }
+        }
+        report.addImported(batch.size() - failed.size());
+        summaryService.add(counters);
+        batch.clear();
+        lines.clear();
+    }
+
+    private static class BoundedLineReader {
+
+        private final InputStream input;
+        private final long limit;
+        private final byte[] buffer = new byte[8192];
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private int position;
+        private int length;
+        private boolean oversized;
+
+        BoundedLineReader(InputStream input, long limit) {
+            this.input = input;
+            this.limit = limit;
+        }
+
+        String readLine() throws IOException {
+            line.reset();
+            oversized = false;
+            while (true) {
+                if (position == length) {
+                    length = Math.max(input.read(buffer), 0);
+                    position = 0;
+                    if (length == 0) {
+                        return line.size() > 0 || oversized ? toLine() : null;
+                    }
+                }
+                var start = position;
+                while (position < length && buffer[position] != '\n') {
+                    position++;
+                }
+                append(start, position - start);
+                if (position < length) {
+                    position++;
+                    return toLine();
+                }
+            }
+        }
+
+        boolean isOversized() {
+            return oversized;
+        }
+
+        private void append(int start, int count) {
+            if (oversized) {
+                return;
+            }
+            if (line.size() + count > limit) {
+                oversized = true;
+                line.reset();
+            } else {
+                line.write(buffer, start, count);
+            }
+        }
+
+        private String toLine() {
+            var value = line.toString(StandardCharsets.UTF_8);
+            return value.endsWith("\r") ? value.substring(0, value.length() - 1) : value;
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package br.com.devisrael.helpdesk.service;
 
+import br.com.devisrael.helpdesk.api.dto.CursorPage;
+import br.com.devisrael.helpdesk.api.dto.StatusChangeReport;
+import br.com.devisrael.helpdesk.api.dto.TicketFilter;
+import br.com.devisrael.helpdesk.api.dto.TicketListItem;
 import br.com.devisrael.helpdesk.api.entity.Change;
+import br.com.devisrael.helpdesk.api.entity.Status;
 import br.com.devisrael.helpdesk.api.entity.Ticket;
+import br.com.devisrael.helpdesk.api.entity.User;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public interface TicketService {
 
@@ -12,23 +21,35 @@ public interface TicketService {
 
     Ticket findById(String id);
 
+    Long findVersion(String id);
+
+    Ticket changeStatus(String id, Status status, Long expectedVersion, User user);
+
+    StatusChangeReport changeStatus(List<String> ids, Status status, User user);
+
+    String findImageId(String id);
+
     void delete(String id);
 
-    Page<Ticket> listTickets(int page, int count);
+    Page<TicketListItem> listTickets(int page, int count);
+
+    CursorPage<TicketListItem> listTicketsByCursor(TicketFilter filter, String cursor, int count);
+
+    Slice<TicketListItem> findSlice(TicketFilter filter, int page, int count);
 
     Change createChangeStatus(Change change);
 
-    Iterable<Change> listChangeStatus(String ticketId);
+    List<Change> listChangeStatus(String ticketId, int page, int count);
 
-    Page<Ticket> findByCurrentUser(int page, int count, String userId);
+    Page<TicketListItem> findByCurrentUser(int page, int count, String userId);
 
-    Page<Ticket> findByParameter(int page, int count, String title, String status, String priority);
+    Page<TicketListItem> findByParameter(int page, int count, String title, String status, String priority);
 
-    Page<Ticket> findByParameterCurrentUser(int page, int count, String title, String status, String priority);
+    Page<TicketListItem> findByParameterCurrentUser(int page, int count, String title, String status, String priority, String userId);
 
-    Page<Ticket> findByNumber(int page, int count, Integer number);
+    Page<TicketListItem> findByNumber(int page, int count, Integer number);
 
-    Iterable<Ticket> findAll();
+    Page<TicketListItem> findByParameterAndAssignedUser(int page, int count, String title, String status, String priority, String assignedUser);
 
-    Page<Ticket> findByParameterAndAssignedUser(int page, int count, String title, String status, String priority, String assignedUser);
+    Slice<TicketListItem> search(String text, TicketFilter filter, int page, int count);
 }
@@ -1,14 +1,43 @@
 package br.com.devisrael.helpdesk.service;
 
+import br.com.devisrael.helpdesk.api.dto.CursorPage;
+import br.com.devisrael.helpdesk.api.dto.StatusChangeReport;
+import br.com.devisrael.helpdesk.api.dto.TicketCursor;
+import br.com.devisrael.helpdesk.api.dto.TicketEvent;
+import br.com.devisrael.helpdesk.api.dto.TicketFilter;
+import br.com.devisrael.helpdesk.api.dto.TicketListItem;
 import br.com.devisrael.helpdesk.api.entity.Change;
+import br.com.devisrael.helpdesk.api.entity.Status;
 import br.com.devisrael.helpdesk.api.entity.Ticket;
+import br.com.devisrael.helpdesk.api.entity.User;
 import br.com.devisrael.helpdesk.repository.ChangeStatusRepository;
+import br.com.devisrael.helpdesk.repository.TicketQueries;
 import br.com.devisrael.helpdesk.repository.TicketRepository;
+import br.com.devisrael.helpdesk.repository.UserReferenceResolver;
+import com.mongodb.DBRef;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 @Service
 public class TicketServiceImpl implements TicketService {
 
@@ -18,25 +47,269 @@ public class TicketServiceImpl implements TicketService {
     @Autowired
     private ChangeStatusRepository changeStatusRepository;
 
+    @Autowired
+    private SummaryService summaryService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private UserReferenceResolver userReferenceResolver;
+
+    @Autowired
+    private TicketFeedService ticketFeedService;
+
+    @Value("${ticket.update.require-version}")
+    private boolean requireVersion;
+
     @Override
     public Ticket createOrUpdate(Ticket ticket) {
-        return ticketRepository.save(ticket);
+        var ticketCurrent = ticket.getId() != null ? findCurrentState(ticket.getId()) : null;
+        if (ticketCurrent != null && ticket.getVersion() == null) {
+            ticket.setVersion(currentVersion(ticketCurrent));
+        }
+        var previousImageId = ticketCurrent != null ? ticketCurrent.getImageId() : null;
+        var imageId = attachmentService.storeImage(ticket.getImage());
+        if (imageId != null) {
+            ticket.setImageId(imageId);
+            ticket.setImage(null);
+        } else if (ticket.getImageId() == null) {
+            ticket.setImageId(previousImageId);
+        }
+        Ticket ticketPersisted;
+        try {
+            ticketPersisted = ticketRepository.save(ticket);
+        } catch (RuntimeException e) {
+            if (imageId != null) {
+                attachmentService.delete(imageId);
+            }
+            throw e;
+        }
+        if (previousImageId != null && !previousImageId.equals(ticketPersisted.getImageId())) {
+            attachmentService.delete(previousImageId);
+        }
+        var previousStatus = ticketCurrent != null ? ticketCurrent.getStatus() : null;
+        summaryService.transition(previousStatus, ticketPersisted.getStatus());
+        ticketFeedService.publish(eventType(ticketCurrent, ticketPersisted), ticketPersisted, previousStatus);
+        return ticketPersisted;
+    }
+
+    static TicketEvent.Type eventType(Ticket ticketCurrent, Ticket ticketPersisted) {
+        if (ticketCurrent == null) {
+            return TicketEvent.Type.CREATED;
+        }
+        return ticketCurrent.getStatus() != ticketPersisted.getStatus() ? TicketEvent.Type.STATUS_CHANGED : TicketEvent.Type.UPDATED;
+    }
+
+    private Ticket findCurrentState(String id) {
+        var query = Query.query(Criteria.where("id").is(id));
+        query.fields().include("status").include("imageId").include("version");
+        return mongoTemplate.findOne(query, Ticket.class);
+    }
+
+    private Long currentVersion(Ticket ticketCurrent) {
+        if (ticketCurrent.getVersion() == null) {
+            return initializeVersion(ticketCurrent.getId());
+        }
+        if (requireVersion) {
+            throw new TicketVersionRequiredException(ticketCurrent.getId());
+        }
+        return ticketCurrent.getVersion();
+    }
+
+    private Long initializeVersion(String id) {
+        var query = Query.query(Criteria.where("id").is(id).and("version").exists(false));
+        mongoTemplate.updateFirst(query, Update.update("version", 0L), Ticket.class);
+        return 0L;
+    }
+
+    @Override
+    public Ticket changeStatus(String id, Status status, Long expectedVersion, User user) {
+        var assignedUser = status == Status.ASSIGNED
+                ? new DBRef(mongoTemplate.getCollectionName(User.class), TicketQueries.toId(user.getId()))
+                : null;
+        var ticket = mongoTemplate.findAndModify(TicketQueries.statusTransition(id, status, expectedVersion),
+                TicketQueries.statusTransitionUpdate(status, assignedUser), Ticket.class);
+        if (ticket == null) {
+            var ticketCurrent = findCurrentState(id);
+            if (ticketCurrent == null) {
+                return null;
+            }
+            throw TicketConflictException.of(id, ticketCurrent.getStatus(), status);
+        }
+        var previousStatus = ticket.getStatus();
+        ticket.setStatus(status);
+        ticket.setVersion(ticket.getVersion() != null ? ticket.getVersion() + 1 : 1L);
+        if (assignedUser != null) {
+            ticket.setAssignedUser(user);
+        }
+        userReferenceResolver.resolve(ticket);
+        summaryService.transition(previousStatus, status);
+        ticketFeedService.publish(TicketEvent.Type.STATUS_CHANGED, ticket, previousStatus);
+        var change = new Change();
+        change.setUserChange(user);
+        change.setDateChangeStatus(new Date());
+        change.setStatus(status);
+        change.setTicket(ticket);
+        changeStatusRepository.save(change);
+        return ticket;
+    }
+
+    @Override
+    public StatusChangeReport changeStatus(List<String> ids, Status status, User user) {
+        var report = new StatusChangeReport(status);
+        var uniqueIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        var currentStates = findCurrentStates(uniqueIds);
+        var candidates = new ArrayList<Ticket>();
+        for (String id : uniqueIds) {
+            var ticketCurrent = currentStates.get(id);
+            if (ticketCurrent == null) {
+                report.notFound(id);
+            } else if (!ticketCurrent.getStatus().canTransitionTo(status)) {
+                report.conflict(id, ticketCurrent.getStatus());
+            } else {
+                candidates.add(ticketCurrent);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return report;
+        }
+        var assignedUser = status == Status.ASSIGNED
+                ? new DBRef(mongoTemplate.getCollectionName(User.class), TicketQueries.toId(user.getId()))
+                : null;
+        var transitionId = UUID.randomUUID().toString();
+        var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Ticket.class);
+        for (Ticket candidate : candidates) {
+            bulk.updateOne(TicketQueries.statusTransition(candidate.getId(), status, candidate.getVersion()),
+                    TicketQueries.statusTransitionUpdate(status, assignedUser, transitionId));
+        }
+        var result = bulk.execute();
+        var changed = result.getModifiedCount() == candidates.size()
+                ? candidates
+                : confirmTransitions(candidates, transitionId, report);
+
+        var now = new Date();
+        var counters = new EnumMap<Status, Long>(Status.class);
+        var changes = new ArrayList<Change>(changed.size());
+        for (Ticket ticket : changed) {
+            report.changed(ticket.getId());
+            var previousStatus = ticket.getStatus();
+            counters.merge(previousStatus, -1L, Long::sum);
+            counters.merge(status, 1L, Long::sum);
+            ticket.setStatus(status);
+            ticket.setVersion(ticket.getVersion() != null ? ticket.getVersion() + 1 : 1L);
+            if (assignedUser != null) {
+                ticket.setAssignedUser(user);
+            }
+            ticketFeedService.publish(TicketEvent.Type.STATUS_CHANGED, ticket, previousStatus);
+            var change = new Change();
+            change.setUserChange(user);
+            change.setDateChangeStatus(now);
+            change.setStatus(status);
+            change.setTicket(ticket);
+            changes.add(change);
+        }
+        if (!changes.isEmpty()) {
+            mongoTemplate.insert(changes, Change.class);
+            summaryService.add(counters);
+        }
+        return report;
+    }
+
+    private Map<String, Ticket> findCurrentStates(Collection<String> ids) {
+        var query = Query.query(Criteria.where("id").in(ids));
+        query.fields().include("status").include("version").include("number").include("title").include("priority")
+                .include("user").include("assignedUser");
+        var tickets = new HashMap<String, Ticket>();
+        for (Ticket ticket : mongoTemplate.find(query, Ticket.class)) {
+            tickets.put(ticket.getId(), ticket);
+        }
+        return tickets;
+    }
+
+    private List<Ticket> confirmTransitions(List<Ticket> candidates, String transitionId, StatusChangeReport report) {
+        var ids = new ArrayList<String>(candidates.size());
+        for (Ticket candidate : candidates) {
+            ids.add(candidate.getId());
+        }
+        var applied = new HashSet<String>();
+        for (Ticket ticket : mongoTemplate.find(TicketQueries.transitionApplied(ids, transitionId), Ticket.class)) {
+            applied.add(ticket.getId());
+        }
+        var currentStates = applied.size() < ids.size() ? findCurrentStates(ids) : Map.<String, Ticket>of();
+        var changed = new ArrayList<Ticket>(candidates.size());
+        for (Ticket candidate : candidates) {
+            if (applied.contains(candidate.getId())) {
+                changed.add(candidate);
+                continue;
+            }
+            var ticketCurrent = currentStates.get(candidate.getId());
+            if (ticketCurrent == null) {
+                report.notFound(candidate.getId());
+            } else {
+                report.conflict(candidate.getId(), ticketCurrent.getStatus());
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public String findImageId(String id) {
+        var ticket = findCurrentState(id);
+        return ticket != null ? ticket.getImageId() : null;
     }
 
     @Override
     public Ticket findById(String id) {
-        return ticketRepository.findById(id).get();
+        var ticket = ticketRepository.findById(id).get();
+        userReferenceResolver.resolve(ticket);
+        return ticket;
+    }
+
+    @Override
+    public Long findVersion(String id) {
+        var query = Query.query(Criteria.where("id").is(id));
+        query.fields().include("version");
+        var ticket = mongoTemplate.findOne(query, Ticket.class);
+        return ticket != null ? ticket.getVersion() : null;
     }
 
     @Override
     public void delete(String id) {
-        ticketRepository.deleteById(id);
+        var query = Query.query(Criteria.where("id").is(id));
+        query.fields().include("status").include("imageId").include("number").include("user");
+        var ticketRemoved = mongoTemplate.findAndRemove(query, Ticket.class);
+        if (ticketRemoved != null) {
+            summaryService.decrement(ticketRemoved.getStatus());
+            attachmentService.delete(ticketRemoved.getImageId());
+            ticketFeedService.publish(TicketEvent.Type.DELETED, ticketRemoved, null);
+        }
+    }
+
+    @Override
+    public Page<TicketListItem> listTickets(int page, int count) {
+        var pageRequest = PageRequest.of(page, count, TicketQueries.INSERTION_ORDER);
+        return ticketRepository.findPage(new TicketFilter(), pageRequest);
     }
 
     @Override
-    public Page<Ticket> listTickets(int page, int count) {
+    public CursorPage<TicketListItem> listTicketsByCursor(TicketFilter filter, String cursor, int count) {
+        var tickets = ticketRepository.findByCursor(filter, TicketCursor.decode(cursor), count + 1);
+        if (tickets.size() <= count) {
+            return new CursorPage<>(tickets, null);
+        }
+        var content = tickets.subList(0, count);
+        var last = content.get(count - 1);
+        return new CursorPage<>(content, new TicketCursor(last.getDate(), last.getId()).encode());
+    }
+
+    @Override
+    public Slice<TicketListItem> findSlice(TicketFilter filter, int page, int count) {
         var pageRequest = PageRequest.of(page, count);
-        return ticketRepository.findAll(pageRequest);
+        return ticketRepository.findSlice(filter, pageRequest);
     }
 
     @Override
@@ -45,42 +318,51 @@ public class TicketServiceImpl implements TicketService {
     }
 
     @Override
-    public Iterable<Change> listChangeStatus(String ticketId) {
-        return this.changeStatusRepository.findByTicketIdOrderByDateChangeStatusDesc(ticketId);
+    public List<Change> listChangeStatus(String ticketId, int page, int count) {
+        return this.changeStatusRepository.findHistoryByTicketId(ticketId, page, count);
     }
 
     @Override
-    public Page<Ticket> findByCurrentUser(int page, int count, String userId) {
-        var pageRequest = PageRequest.of(page, count);
-        return ticketRepository.findByUserIdOrderByDate(pageRequest, userId);
+    public Page<TicketListItem> findByCurrentUser(int page, int count, String userId) {
+        var pageRequest = PageRequest.of(page, count, TicketQueries.OLDEST_FIRST);
+        var filter = new TicketFilter();
+        filter.setUserId(userId);
+        return ticketRepository.findPage(filter, pageRequest);
     }
 
     @Override
-    public Page<Ticket> findByParameter(int page, int count, String title, String status, String priority) {
-        var pageRequest = PageRequest.of(page, count);
-        return ticketRepository.findByTitleIgnoreCaseContainingAndStatusAndPriorityOrderByDateDateAsc(title, status, priority, pageRequest);
+    public Page<TicketListItem> findByParameter(int page, int count, String title, String status, String priority) {
+        var pageRequest = PageRequest.of(page, count, TicketQueries.OLDEST_FIRST);
+        return ticketRepository.findPage(TicketFilter.fromParameters(title, status, priority), pageRequest);
     }
 
     @Override
-    public Page<Ticket> findByParameterCurrentUser(int page, int count, String title, String status, String priority) {
-        var pageRequest = PageRequest.of(page, count);
-        return ticketRepository.findByTitleIgnoreCaseContainingAndStatusAndPriorityAndUserIdOrderByDateDateAsc(title, status, priority, pageRequest);
+    public Page<TicketListItem> findByParameterCurrentUser(int page, int count, String title, String status, String priority, String userId) {
+        var pageRequest = PageRequest.of(page, count, TicketQueries.OLDEST_FIRST);
+        var filter = TicketFilter.fromParameters(title, status, priority);
+        filter.setUserId(userId);
+        return ticketRepository.findPage(filter, pageRequest);
     }
 
     @Override
-    public Page<Ticket> findByNumber(int page, int count, Integer number) {
-        var pageRequest = PageRequest.of(page, count);
-        return ticketRepository.findByNumber(number, pageRequest);
+    public Page<TicketListItem> findByNumber(int page, int count, Integer number) {
+        var pageRequest = PageRequest.of(page, count, TicketQueries.INSERTION_ORDER);
+        var filter = new TicketFilter();
+        filter.setNumber(number);
+        return ticketRepository.findPage(filter, pageRequest);
     }
 
     @Override
-    public Iterable<Ticket> findAll() {
-        return ticketRepository.findAll();
+    public Page<TicketListItem> findByParameterAndAssignedUser(int page, int count, String title, String status, String priority, String assignedUser) {
+        var pageRequest = PageRequest.of(page, count, TicketQueries.OLDEST_FIRST);
+        var filter = TicketFilter.fromParameters(title, status, priority);
+        filter.setAssignedUserId(assignedUser);
+        return ticketRepository.findPage(filter, pageRequest);
     }
 
     @Override
-    public Page<Ticket> findByParameterAndAssignedUser(int page, int count, String title, String status, String priority, String assignedUser) {
+    public Slice<TicketListItem> search(String text, TicketFilter filter, int page, int count) {
         var pageRequest = PageRequest.of(page, count);
-        return ticketRepository.findByTitleIgnoreCaseContainingAndStatusAndPriorityAndAssignedUserIdOrderByDateDateAsc(title, status, priority, pageRequest);
+        return ticketRepository.search(text, filter, pageRequest);
     }
 }
@@ -0,0 +1,8 @@
+package br.com.devisrael.helpdesk.service;
+
+public class TicketVersionRequiredException extends RuntimeException {
+
+    public TicketVersionRequiredException(String id) {
+        super(String.format("Version no information for ticket %s", id));
+    }
+}
@@ -2,11 +2,14 @@ package br.com.devisrael.helpdesk.service;
 
 import br.com.devisrael.helpdesk.api.entity.User;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.Optional;
 
 public interface UserService {
 
+    String USERS_CACHE = "users";
+
     User findByEmail(String email);
 
     User createOrUpdate(User user);
@@ -16,4 +19,6 @@ public interface UserService {
     void delete(String id);
 
     Page<User> findAll(int page, int count);
+
+    Slice<User> findSlice(int page, int count);
 }
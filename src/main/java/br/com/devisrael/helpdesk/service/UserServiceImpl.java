@@ -1,10 +1,14 @@
 package br.com.devisrael.helpdesk.service;
 
 import br.com.devisrael.helpdesk.api.entity.User;
+import br.com.devisrael.helpdesk.repository.UserReferenceResolver;
 import br.com.devisrael.helpdesk.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -15,14 +19,21 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserReferenceResolver userReferenceResolver;
+
     @Override
+    @Cacheable(cacheNames = USERS_CACHE, unless = "#result == null")
     public User findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
 
     @Override
+    @CacheEvict(cacheNames = USERS_CACHE, allEntries = true)
     public User createOrUpdate(User user) {
-        return userRepository.save(user);
+        var userPersisted = userRepository.save(user);
+        userReferenceResolver.invalidateAll();
+        return userPersisted;
     }
 
     @Override
@@ -31,8 +42,10 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CacheEvict(cacheNames = USERS_CACHE, allEntries = true)
     public void delete(String id) {
         userRepository.deleteById(id);
+        userReferenceResolver.invalidateAll();
     }
 
     @Override
@@ -40,4 +53,10 @@ public class UserServiceImpl implements UserService {
         var pageRequest = PageRequest.of(page, count);
         return userRepository.findAll(pageRequest);
     }
+
+    @Override
+    public Slice<User> findSlice(int page, int count) {
+        var pageRequest = PageRequest.of(page, count);
+        return userRepository.findAllBy(pageRequest);
+    }
 }
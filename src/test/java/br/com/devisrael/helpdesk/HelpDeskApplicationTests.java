@@ -1,11 +1,40 @@
 package br.com.devisrael.helpdesk;
 
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.mongo.embedded.EmbeddedMongoAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration",
+        "spring.data.mongodb.auto-index-creation=false",
+        "mongo.indexes.ensure-on-startup=false"
+})
 class HelpDeskApplicationTests {
 
+    private static MongoServer mongoServer;
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        mongoServer = new MongoServer(new MemoryBackend());
+        var address = mongoServer.bind();
+        registry.add("spring.data.mongodb.host", address::getHostString);
+        registry.add("spring.data.mongodb.port", address::getPort);
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        if (mongoServer != null) {
+            mongoServer.shutdown();
+        }
+    }
+
     @Test
     void contextLoads() {
     }
@@ -0,0 +1,62 @@
+package br.com.devisrael.helpdesk;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadPinningTests {
+
+    @Test
+    void applicationCodeDoesNotHoldMonitors() throws Exception {
+        var classes = Path.of(HelpDeskApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<Path> classFiles;
+        try (var paths = Files.walk(classes)) {
+            classFiles = paths.filter(path -> path.toString().endsWith(".class")).collect(Collectors.toList());
+        }
+        var offenders = new ArrayList<String>();
+        for (Path classFile : classFiles) {
+            var reader = new ClassReader(Files.readAllBytes(classFile));
+            reader.accept(new MonitorScanner(reader.getClassName(), offenders), ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        }
+        assertTrue(offenders.isEmpty(), () -> "virtual threads would pin their carrier in " + offenders);
+    }
+
+    private static class MonitorScanner extends ClassVisitor {
+
+        private final String className;
+        private final List<String> offenders;
+
+        MonitorScanner(String className, List<String> offenders) {
+            super(SpringAsmInfo.ASM_VERSION);
+            this.className = className;
+            this.offenders = offenders;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            var method = className.replace('/', '.') + "." + name;
+            if ((access & Opcodes.ACC_SYNCHRONIZED) != 0) {
+                offenders.add(method + " (synchronized method)");
+            }
+            return new MethodVisitor(SpringAsmInfo.ASM_VERSION) {
+                @Override
+                public void visitInsn(int opcode) {
+                    if (opcode == Opcodes.MONITORENTER) {
+                        offenders.add(method + " (synchronized block)");
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.devisrael.helpdesk.load;
+
+import java.util.Arrays;
+
+class EndpointStats {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+    private long conflicts;
+
+    void record(long nanos, int statusCode) {
+        if (statusCode == 409) {
+            conflicts++;
+        } else if (statusCode < 200 || statusCode >= 400) {
+            errors++;
+        }
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+    }
+
+    void merge(EndpointStats other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, count + other.count);
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        errors += other.errors;
+        conflicts += other.conflicts;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    long getConflicts() {
+        return conflicts;
+    }
+
+    double[] percentilesMillis(double... percentiles) {
+        var sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        var values = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (count > 0) {
+                var index = (int) Math.ceil(percentiles[i] / 100 * count) - 1;
+                values[i] = sorted[Math.max(index, 0)] / 1_000_000.0;
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.devisrael.helpdesk.load;
+
+import br.com.devisrael.helpdesk.api.entity.Priority;
+import br.com.devisrael.helpdesk.api.entity.Profile;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import br.com.devisrael.helpdesk.api.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+final class LoadFixture {
+
+    static final String PASSWORD = "123456";
+
+    private LoadFixture() {
+    }
+
+    static List<User> users(MongoTemplate mongoTemplate, PasswordEncoder passwordEncoder, Profile profile, int count) {
+        var password = passwordEncoder.encode(PASSWORD);
+        var users = new ArrayList<User>(count);
+        for (int i = 0; i < count; i++) {
+            var user = new User();
+            user.setEmail(profile.name().toLowerCase() + i + "@load.helpdesk.com");
+            user.setPassword(password);
+            user.setProfile(profile);
+            users.add(user);
+        }
+        return new ArrayList<>(mongoTemplate.insertAll(users));
+    }
+
+    static List<String> tickets(MongoTemplate mongoTemplate, List<User> customers, List<User> technicians, int count) {
+        var random = new Random(42);
+        var statuses = Status.values();
+        var priorities = Priority.values();
+        var ids = new ArrayList<String>(count);
+        var batch = new ArrayList<Ticket>(1000);
+        for (int number = 1; number <= count; number++) {
+            var ticket = new Ticket();
+            ticket.setNumber(number);
+            ticket.setTitle("Load ticket " + number);
+            ticket.setDescription("Seeded by the load test");
+            ticket.setDate(new Date(System.currentTimeMillis() - random.nextInt(90 * 24 * 3600) * 1000L));
+            ticket.setStatus(statuses[random.nextInt(statuses.length)]);
+            ticket.setPriority(priorities[random.nextInt(priorities.length)]);
+            ticket.setUser(customers.get(random.nextInt(customers.size())));
+            if (ticket.getStatus() != Status.NEW) {
+                ticket.setAssignedUser(technicians.get(random.nextInt(technicians.size())));
+            }
+            ticket.setVersion(0L);
+            batch.add(ticket);
+            if (batch.size() == 1000 || number == count) {
+                for (Ticket inserted : mongoTemplate.insertAll(batch)) {
+                    ids.add(inserted.getId());
+                }
+                batch.clear();
+            }
+        }
+        return ids;
+    }
+
+    static Map<String, EndpointStats> run(ObjectMapper objectMapper, String baseUrl, List<User> technicians,
+                                          List<String> ticketIds, int virtualUsers, Duration warmup, Duration duration) throws Exception {
+        var client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        var warmupEnd = System.nanoTime() + warmup.toNanos();
+        var deadline = warmupEnd + duration.toNanos();
+
+        var totals = new TreeMap<String, EndpointStats>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<Map<String, EndpointStats>>>(virtualUsers);
+            for (int i = 0; i < virtualUsers; i++) {
+                var technician = technicians.get(i % technicians.size());
+                futures.add(executor.submit(new VirtualUser(client, objectMapper, baseUrl, technician.getEmail(), PASSWORD,
+                        ticketIds, warmupEnd, deadline)));
+            }
+            for (Future<Map<String, EndpointStats>> future : futures) {
+                future.get().forEach((endpoint, stats) -> totals.computeIfAbsent(endpoint, key -> new EndpointStats()).merge(stats));
+            }
+        }
+        return totals;
+    }
+
+    static List<Map<String, Object>> report(Map<String, EndpointStats> totals, Duration duration) {
+        var seconds = duration.toMillis() / 1000.0;
+        var report = new ArrayList<Map<String, Object>>();
+        for (Map.Entry<String, EndpointStats> entry : totals.entrySet()) {
+            var stats = entry.getValue();
+            var percentiles = stats.percentilesMillis(50, 95, 99);
+            var line = new LinkedHashMap<String, Object>();
+            line.put("endpoint", entry.getKey());
+            line.put("requests", stats.getCount());
+            line.put("errors", stats.getErrors());
+            line.put("conflicts", stats.getConflicts());
+            line.put("errorRate", stats.getCount() > 0 ? (double) stats.getErrors() / stats.getCount() : 0.0);
+            line.put("throughput", entry.getKey().equals(VirtualUser.LOGIN) ? 0.0 : stats.getCount() / seconds);
+            line.put("p50", percentiles[0]);
+            line.put("p95", percentiles[1]);
+            line.put("p99", percentiles[2]);
+            report.add(line);
+        }
+        return report;
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.devisrael.helpdesk.load;
+
+import br.com.devisrael.helpdesk.api.entity.Profile;
+import br.com.devisrael.helpdesk.service.SummaryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.mongo.embedded.EmbeddedMongoAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration",
+        "spring.data.mongodb.auto-index-creation=false",
+        "mongo.indexes.ensure-on-startup=false"
+})
+@EnabledIfSystemProperty(named = "load", matches = "true")
+class LoadTests {
+
+    private static final int VIRTUAL_USERS = Integer.getInteger("load.users", 50);
+
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10));
+
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration-seconds", 60));
+
+    private static final int TICKETS = Integer.getInteger("load.tickets", 5000);
+
+    private static final int TECHNICIANS = Integer.getInteger("load.technicians", 20);
+
+    private static final int CUSTOMERS = Integer.getInteger("load.customers", 100);
+
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+
+    private static final String REPORT = System.getProperty("load.report", "target/load-test-report.json");
+
+    private static MongoServer mongoServer;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private SummaryService summaryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        mongoServer = new MongoServer(new MemoryBackend());
+        var address = mongoServer.bind();
+        registry.add("spring.data.mongodb.host", address::getHostString);
+        registry.add("spring.data.mongodb.port", address::getPort);
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        if (mongoServer != null) {
+            mongoServer.shutdown();
+        }
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        var technicians = LoadFixture.users(mongoTemplate, passwordEncoder, Profile.ROLE_TECHNICIAN, TECHNICIANS);
+        var customers = LoadFixture.users(mongoTemplate, passwordEncoder, Profile.ROLE_COSTUMER, CUSTOMERS);
+        var ticketIds = LoadFixture.tickets(mongoTemplate, customers, technicians, TICKETS);
+        summaryService.rebuild();
+
+        var totals = LoadFixture.run(objectMapper, "http://localhost:" + port, technicians, ticketIds,
+                VIRTUAL_USERS, WARMUP, DURATION);
+
+        var report = report(totals);
+        assertFalse(totals.isEmpty(), "no request was recorded");
+        for (Map<String, Object> line : report) {
+            var errorRate = (double) line.get("errorRate");
+            assertTrue(errorRate <= MAX_ERROR_RATE, () -> line.get("endpoint") + " error rate " + errorRate);
+        }
+    }
+
+    private List<Map<String, Object>> report(Map<String, EndpointStats> totals) throws Exception {
+        var report = LoadFixture.report(totals, DURATION);
+        System.out.printf("%d virtual users, %s warmup, %s measured, %d tickets%n", VIRTUAL_USERS, WARMUP, DURATION, TICKETS);
+        System.out.printf("%-80s %8s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "conflicts", "req/s", "p50 ms", "p95 ms", "p99 ms");
+        for (Map<String, Object> line : report) {
+            System.out.printf("%-80s %8d %7d %9d %9.1f %9.2f %9.2f %9.2f%n", line.get("endpoint"), line.get("requests"), line.get("errors"),
+                    line.get("conflicts"), line.get("throughput"), line.get("p50"), line.get("p95"), line.get("p99"));
+        }
+        var file = new File(REPORT);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+        return report;
+    }
+}
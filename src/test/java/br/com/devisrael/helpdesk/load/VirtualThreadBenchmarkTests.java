@@ -0,0 +1,130 @@
+package br.com.devisrael.helpdesk.load;
+
+import br.com.devisrael.helpdesk.HelpDeskApplication;
+import br.com.devisrael.helpdesk.api.entity.Profile;
+import br.com.devisrael.helpdesk.service.SummaryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadBenchmarkTests {
+
+    private static final int VIRTUAL_USERS = Integer.getInteger("benchmark.users", 400);
+
+    private static final int PLATFORM_THREADS = Integer.getInteger("benchmark.platform-threads", 200);
+
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 10));
+
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.duration-seconds", 30));
+
+    private static final int TICKETS = Integer.getInteger("benchmark.tickets", 5000);
+
+    private static final int TECHNICIANS = Integer.getInteger("benchmark.technicians", 20);
+
+    private static final int CUSTOMERS = Integer.getInteger("benchmark.customers", 100);
+
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("benchmark.max-error-rate", "0.01"));
+
+    private static final String REPORT = System.getProperty("benchmark.report", "target/virtual-thread-benchmark.json");
+
+    private static MongoServer mongoServer;
+
+    private static InetSocketAddress mongoAddress;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void startMongo() {
+        mongoServer = new MongoServer(new MemoryBackend());
+        mongoAddress = mongoServer.bind();
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        if (mongoServer != null) {
+            mongoServer.shutdown();
+        }
+    }
+
+    @Test
+    void compareThroughput() throws Exception {
+        var report = new LinkedHashMap<String, Object>();
+        report.put("virtualUsers", VIRTUAL_USERS);
+        report.put("platformThreads", PLATFORM_THREADS);
+        report.put("warmupSeconds", WARMUP.toSeconds());
+        report.put("durationSeconds", DURATION.toSeconds());
+        report.put("tickets", TICKETS);
+        report.put("platform", measure(false));
+        report.put("virtual", measure(true));
+
+        var file = new File(REPORT);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+    }
+
+    private Map<String, Object> measure(boolean virtualThreads) throws Exception {
+        try (var context = new SpringApplicationBuilder(HelpDeskApplication.class).properties(
+                "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.mongo.embedded.EmbeddedMongoAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration",
+                "spring.data.mongodb.auto-index-creation=false",
+                "spring.data.mongodb.host=" + mongoAddress.getHostString(),
+                "spring.data.mongodb.port=" + mongoAddress.getPort(),
+                "mongo.indexes.ensure-on-startup=false",
+                "server.port=0",
+                "management.server.port=0",
+                "server.tomcat.threads.max=" + PLATFORM_THREADS,
+                "helpdesk.threads.virtual.enabled=" + virtualThreads).run()) {
+            var mongoTemplate = context.getBean(MongoTemplate.class);
+            var passwordEncoder = context.getBean(PasswordEncoder.class);
+            mongoTemplate.getDb().drop();
+            var technicians = LoadFixture.users(mongoTemplate, passwordEncoder, Profile.ROLE_TECHNICIAN, TECHNICIANS);
+            var customers = LoadFixture.users(mongoTemplate, passwordEncoder, Profile.ROLE_COSTUMER, CUSTOMERS);
+            var ticketIds = LoadFixture.tickets(mongoTemplate, customers, technicians, TICKETS);
+            context.getBean(SummaryService.class).rebuild();
+
+            var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            var totals = LoadFixture.run(objectMapper, "http://localhost:" + port, technicians, ticketIds,
+                    VIRTUAL_USERS, WARMUP, DURATION);
+            assertFalse(totals.isEmpty(), "no request was recorded");
+
+            var endpoints = LoadFixture.report(totals, DURATION);
+            var requests = 0L;
+            var throughput = 0.0;
+            for (Map<String, Object> line : endpoints) {
+                var errorRate = (double) line.get("errorRate");
+                assertTrue(errorRate <= MAX_ERROR_RATE, () -> line.get("endpoint") + " error rate " + errorRate);
+                if (!line.get("endpoint").equals(VirtualUser.LOGIN)) {
+                    requests += (int) line.get("requests");
+                    throughput += (double) line.get("throughput");
+                }
+            }
+            var result = new LinkedHashMap<String, Object>();
+            result.put("requests", requests);
+            result.put("throughput", throughput);
+            result.put("endpoints", endpoints);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.devisrael.helpdesk.load;
+
+import br.com.devisrael.helpdesk.api.entity.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+class VirtualUser implements Callable<Map<String, EndpointStats>> {
+
+    static final String LOGIN = "POST /api/auth";
+    static final String LIST = "GET /api/ticket/{page}/{count}";
+    static final String FILTER = "GET /api/ticket/{page}/{count}/{number}/{title}/{status}/{priority}/{assigned}";
+    static final String FIND_BY_ID = "GET /api/ticket/{id}";
+    static final String CHANGE_STATUS = "PUT /api/ticket/{id}/{status}";
+    static final String SUMMARY = "GET /api/ticket/summary";
+
+    private static final String[] STATUS_NAMES = {"New", "Assigned", "Resolved", "Approved", "Disapproved", "Closed"};
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String email;
+    private final String password;
+    private final List<String> ticketIds;
+    private final long warmupEnd;
+    private final long deadline;
+    private final Map<String, EndpointStats> stats = new HashMap<>();
+    private String token;
+
+    VirtualUser(HttpClient client, ObjectMapper objectMapper, String baseUrl, String email, String password,
+                List<String> ticketIds, long warmupEnd, long deadline) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.password = password;
+        this.ticketIds = ticketIds;
+        this.warmupEnd = warmupEnd;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public Map<String, EndpointStats> call() throws Exception {
+        var credentials = objectMapper.writeValueAsString(Map.of("email", email, "password", password));
+        var login = send(LOGIN, request("/api/auth").POST(HttpRequest.BodyPublishers.ofString(credentials)));
+        if (login == null || login.statusCode() != 200) {
+            return stats;
+        }
+        token = objectMapper.readTree(login.body()).path("token").asText();
+        var random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            var roll = random.nextInt(100);
+            if (roll < 30) {
+                send(LIST, request("/api/ticket/" + random.nextInt(5) + "/20").GET());
+            } else if (roll < 50) {
+                var status = STATUS_NAMES[random.nextInt(STATUS_NAMES.length)];
+                send(FILTER, request("/api/ticket/0/20/0/uninformed/" + status + "/uninformed/" + random.nextBoolean()).GET());
+            } else if (roll < 75) {
+                send(FIND_BY_ID, request("/api/ticket/" + randomTicket()).GET());
+            } else if (roll < 90) {
+                changeStatus(randomTicket());
+            } else {
+                send(SUMMARY, request("/api/ticket/summary").GET());
+            }
+        }
+        return stats;
+    }
+
+    private void changeStatus(String id) throws IOException, InterruptedException {
+        var ticket = send(FIND_BY_ID, request("/api/ticket/" + id).GET());
+        if (ticket == null || ticket.statusCode() != 200) {
+            return;
+        }
+        var current = objectMapper.readTree(ticket.body()).path("data").path("status").asText();
+        var next = current.isEmpty() ? Set.<Status>of() : Status.valueOf(current).next();
+        if (next.isEmpty()) {
+            return;
+        }
+        var target = next.iterator().next().name();
+        var path = "/api/ticket/" + id + "/" + target.charAt(0) + target.substring(1).toLowerCase();
+        send(CHANGE_STATUS, request(path).PUT(HttpRequest.BodyPublishers.ofString("{}")));
+    }
+
+    private String randomTicket() {
+        return ticketIds.get(ThreadLocalRandom.current().nextInt(ticketIds.size()));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        var builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", token);
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) throws InterruptedException {
+        var start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            response = null;
+        }
+        var elapsed = System.nanoTime() - start;
+        if (endpoint.equals(LOGIN) || start >= warmupEnd) {
+            stats.computeIfAbsent(endpoint, key -> new EndpointStats()).record(elapsed, response != null ? response.statusCode() : 0);
+        }
+        return response;
+    }
+}
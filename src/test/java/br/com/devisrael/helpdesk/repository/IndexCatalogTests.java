@@ -0,0 +1,83 @@
+package br.com.devisrael.helpdesk.repository;
+
+import br.com.devisrael.helpdesk.api.entity.Sequence;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IndexCatalogTests {
+
+    private MongoServer mongoServer;
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private IndexCatalog indexCatalog;
+
+    @BeforeEach
+    void setUp() {
+        mongoServer = new MongoServer(new MemoryBackend());
+        mongoClient = MongoClients.create(mongoServer.bindAndGetConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "helpdesk");
+        indexCatalog = new IndexCatalog();
+        ReflectionTestUtils.setField(indexCatalog, "mongoTemplate", mongoTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoClient.close();
+        mongoServer.shutdown();
+    }
+
+    @Test
+    void renumbersDuplicateAndMissingNumbersPastTheHighest() {
+        var oldest = insertTicket(7, 1);
+        var duplicate = insertTicket(7, 2);
+        insertTicket(40, 3);
+        var unnumbered = insertTicket(null, 4);
+
+        assertEquals(2, indexCatalog.renumberDuplicateTickets());
+
+        assertEquals(7, number(oldest));
+        var renumbered = new HashSet<>(List.of(number(duplicate), number(unnumbered)));
+        assertEquals(new HashSet<>(List.of(41, 42)), renumbered);
+        assertEquals(42L, mongoTemplate.findById(Sequence.TICKET_NUMBER, Sequence.class).getValue());
+    }
+
+    @Test
+    void skipsTheScanOnceTheUniqueIndexExists() {
+        insertTicket(1, 1);
+        mongoTemplate.indexOps(Ticket.class).ensureIndex(new Index("number", Sort.Direction.ASC).named("number").unique());
+
+        assertEquals(0, indexCatalog.renumberDuplicateTickets());
+        assertEquals(0, mongoTemplate.count(new Query(), Sequence.class));
+    }
+
+    private String insertTicket(Integer number, long date) {
+        var document = new Document("title", "Ticket").append("date", new Date(date));
+        if (number != null) {
+            document.append("number", number);
+        }
+        mongoTemplate.insert(document, mongoTemplate.getCollectionName(Ticket.class));
+        return document.getObjectId("_id").toHexString();
+    }
+
+    private Integer number(String id) {
+        return mongoTemplate.findById(id, Ticket.class).getNumber();
+    }
+}
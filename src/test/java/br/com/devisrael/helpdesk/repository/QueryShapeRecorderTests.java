@@ -0,0 +1,91 @@
+package br.com.devisrael.helpdesk.repository;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class QueryShapeRecorderTests {
+
+    @Test
+    void findWithDifferentLiteralsHasTheSameShape() {
+        var first = BsonDocument.parse("{find: 'ticket', filter: {status: 'NEW', 'user.$id': {$in: [1, 2]}}, "
+                + "sort: {date: -1, _id: -1}, limit: 20, lsid: {id: 1}}");
+        var second = BsonDocument.parse("{find: 'ticket', filter: {status: 'CLOSED', 'user.$id': {$in: [3]}}, "
+                + "sort: {date: -1, _id: -1}, limit: 50, lsid: {id: 2}}");
+
+        var shape = QueryShapeRecorder.shapeOf(first);
+
+        assertEquals(shape, QueryShapeRecorder.shapeOf(second));
+        assertEquals(BsonDocument.parse("{filter: {status: '?', 'user.$id': {$in: ['?']}}, sort: {date: -1, _id: -1}}"), shape);
+    }
+
+    @Test
+    void aggregateKeepsFieldPathsAndStripsLiterals() {
+        var shape = QueryShapeRecorder.shapeOf(BsonDocument.parse(
+                "{aggregate: 'ticket', pipeline: [{$match: {priority: 'HIGH'}}, {$group: {_id: '$status', count: {$sum: 1}}}]}"));
+
+        assertEquals(BsonDocument.parse(
+                "{pipeline: [{$match: {priority: '?'}}, {$group: {_id: '$status', count: {$sum: '?'}}}]}"), shape);
+    }
+
+    @Test
+    void updateUsesTheFirstStatementFilter() {
+        var shape = QueryShapeRecorder.shapeOf(BsonDocument.parse(
+                "{update: 'ticket', updates: [{q: {_id: 1, status: {$in: ['NEW']}}, u: {$set: {status: 'ASSIGNED'}}}]}"));
+
+        assertEquals(BsonDocument.parse("{q: {_id: '?', status: {$in: ['?']}}}"), shape);
+        assertFalse(shape.containsKey("u"));
+    }
+
+    @Test
+    void inFlightCommandsAreBounded() {
+        var recorder = recorder(2, Duration.ofMinutes(10));
+
+        for (int requestId = 1; requestId <= 3; requestId++) {
+            recorder.commandStarted(started(requestId));
+        }
+
+        assertEquals(2, inFlight(recorder).size());
+        assertFalse(inFlight(recorder).containsKey(3));
+    }
+
+    @Test
+    void staleInFlightCommandsAreEvictedByAge() {
+        var recorder = recorder(2, Duration.ZERO);
+
+        for (int requestId = 1; requestId <= 3; requestId++) {
+            recorder.commandStarted(started(requestId));
+        }
+
+        assertEquals(Map.of(3, inFlight(recorder).get(3)), inFlight(recorder));
+    }
+
+    private static QueryShapeRecorder recorder(int maximumInFlight, Duration expireAfter) {
+        var recorder = new QueryShapeRecorder();
+        ReflectionTestUtils.setField(recorder, "maximumInFlight", maximumInFlight);
+        ReflectionTestUtils.setField(recorder, "inFlightExpireAfter", expireAfter);
+        return recorder;
+    }
+
+    private static CommandStartedEvent started(int requestId) {
+        var connection = new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+        return new CommandStartedEvent(requestId, connection, "helpdesk", "find",
+                BsonDocument.parse("{find: 'ticket', filter: {status: 'NEW'}}"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, ?> inFlight(QueryShapeRecorder recorder) {
+        return (Map<Integer, ?>) ReflectionTestUtils.getField(recorder, "inFlight");
+    }
+}
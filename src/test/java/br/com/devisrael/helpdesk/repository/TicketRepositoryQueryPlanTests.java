@@ -0,0 +1,183 @@
+package br.com.devisrael.helpdesk.repository;
+
+import br.com.devisrael.helpdesk.api.dto.TicketCursor;
+import br.com.devisrael.helpdesk.api.dto.TicketFilter;
+import br.com.devisrael.helpdesk.api.entity.Priority;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DataMongoTest
+@EnabledIfSystemProperty(named = "mongod", matches = "true")
+@Import({IndexCatalog.class, UserReferenceResolver.class, TicketRepositoryQueryPlanTests.CommandRecorderConfiguration.class})
+class TicketRepositoryQueryPlanTests {
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ChangeStatusRepository changeStatusRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private IndexCatalog indexCatalog;
+
+    @Autowired
+    private CommandRecorder commandRecorder;
+
+    private final String userId = new ObjectId().toHexString();
+
+    @BeforeEach
+    void setUp() {
+        indexCatalog.ensureIndexes();
+        commandRecorder.clear();
+    }
+
+    @Test
+    void findPageByUserId() {
+        var filter = new TicketFilter();
+        filter.setUserId(userId);
+        ticketRepository.findPage(filter, PageRequest.of(0, 10, TicketQueries.OLDEST_FIRST));
+        assertNoCollectionScan();
+    }
+
+    @Test
+    void findPageByTitle() {
+        var filter = new TicketFilter();
+        filter.setTitle("printer");
+        filter.setStatus(Status.NEW);
+        ticketRepository.findPage(filter, PageRequest.of(0, 10, TicketQueries.OLDEST_FIRST));
+
+        var assigned = new TicketFilter();
+        assigned.setStatus(Status.ASSIGNED);
+        assigned.setPriority(Priority.LOW);
+        assigned.setAssignedUserId(userId);
+        ticketRepository.findPage(assigned, PageRequest.of(0, 10, TicketQueries.OLDEST_FIRST));
+        assertNoCollectionScan();
+    }
+
+    @Test
+    void search() {
+        var filter = new TicketFilter();
+        filter.setPriority(Priority.HIGH);
+        ticketRepository.search("printer offline", filter, PageRequest.of(0, 10));
+        assertNoCollectionScan();
+    }
+
+    @Test
+    void findPageByNumber() {
+        var filter = new TicketFilter();
+        filter.setNumber(42);
+        ticketRepository.findPage(filter, PageRequest.of(0, 10, TicketQueries.INSERTION_ORDER));
+        assertNoCollectionScan();
+    }
+
+    @Test
+    void findByCursor() {
+        var cursor = new TicketCursor(new Date(), new ObjectId().toHexString());
+        ticketRepository.findByCursor(new TicketFilter(), cursor, 20);
+
+        var assigned = new TicketFilter();
+        assigned.setAssignedUserId(userId);
+        ticketRepository.findByCursor(assigned, cursor, 20);
+
+        var owned = new TicketFilter();
+        owned.setUserId(userId);
+        ticketRepository.findByCursor(owned, null, 20);
+        assertNoCollectionScan();
+    }
+
+    @Test
+    void findSlice() {
+        var filter = new TicketFilter();
+        filter.setStatus(Status.NEW);
+        filter.setPriority(Priority.NORMAL);
+        ticketRepository.findSlice(filter, PageRequest.of(2, 20));
+
+        var assigned = new TicketFilter();
+        assigned.setAssignedUserId(userId);
+        ticketRepository.findSlice(assigned, PageRequest.of(0, 20));
+        assertNoCollectionScan();
+    }
+
+    @Test
+    void findHistoryByTicketId() {
+        changeStatusRepository.findHistoryByTicketId(new ObjectId().toHexString(), 0, 20);
+        assertNoCollectionScan();
+    }
+
+    private void assertNoCollectionScan() {
+        var commands = commandRecorder.finds();
+        assertFalse(commands.isEmpty(), "no find command was issued");
+        for (BsonDocument command : commands) {
+            var explain = new BsonDocument("explain", command).append("verbosity", new BsonString("queryPlanner"));
+            var result = mongoTemplate.getDb().runCommand(explain);
+            var winningPlan = result.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+            assertFalse(winningPlan.toJson().contains("COLLSCAN"), "collection scan for " + command.toJson());
+        }
+    }
+
+    @TestConfiguration
+    static class CommandRecorderConfiguration {
+
+        @Bean
+        CommandRecorder commandRecorder() {
+            return new CommandRecorder();
+        }
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer commandRecorderCustomizer(CommandRecorder commandRecorder) {
+            return builder -> builder.addCommandListener(commandRecorder);
+        }
+    }
+
+    static class CommandRecorder implements CommandListener {
+
+        private final List<BsonDocument> finds = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            if (!"find".equals(event.getCommandName())) {
+                return;
+            }
+            var command = new BsonDocument();
+            event.getCommand().forEach((key, value) -> {
+                if (!key.startsWith("$") && !key.equals("lsid")) {
+                    command.append(key, value);
+                }
+            });
+            finds.add(command);
+        }
+
+        List<BsonDocument> finds() {
+            return finds;
+        }
+
+        void clear() {
+            finds.clear();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.dto.TicketEvent;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import br.com.devisrael.helpdesk.api.entity.SummaryCounter;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import br.com.devisrael.helpdesk.api.entity.User;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SummaryServiceImplTests {
+
+    private MongoServer mongoServer;
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private Runnable afterAggregation = () -> { };
+    private int aggregations;
+    private final List<Map<Status, Long>> published = new ArrayList<>();
+    private SummaryServiceImpl summaryService;
+
+    @BeforeEach
+    void setUp() {
+        mongoServer = new MongoServer(new MemoryBackend());
+        mongoClient = MongoClients.create(mongoServer.bindAndGetConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "helpdesk");
+        var rebuildTemplate = new MongoTemplate(mongoClient, "helpdesk") {
+            @Override
+            public <O> AggregationResults<O> aggregate(Aggregation aggregation, Class<?> inputType, Class<O> outputType) {
+                var results = super.aggregate(aggregation, inputType, outputType);
+                aggregations++;
+                var hook = afterAggregation;
+                afterAggregation = () -> { };
+                hook.run();
+                return results;
+            }
+        };
+        summaryService = new SummaryServiceImpl();
+        ReflectionTestUtils.setField(summaryService, "mongoTemplate", rebuildTemplate);
+        ReflectionTestUtils.setField(summaryService, "ticketFeedService", new RecordingFeedService());
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoClient.close();
+        mongoServer.shutdown();
+    }
+
+    @Test
+    void rebuildCreatesZeroedCounters() {
+        insertTicket(Status.NEW);
+
+        summaryService.rebuild();
+
+        var counters = counter().getCounters();
+        assertEquals(1L, counters.get(Status.NEW.name()));
+        assertEquals(0L, counters.get(Status.CLOSED.name()));
+        assertEquals(List.of(Map.of(Status.NEW, 1L)), published);
+    }
+
+    @Test
+    void rebuildKeepsATransitionThatLandsAfterTheAggregation() {
+        insertTicket(Status.NEW);
+        insertTicket(Status.NEW);
+        insertTicket(Status.ASSIGNED);
+        var drifted = new SummaryCounter();
+        drifted.setId(SummaryCounter.TICKET_STATUS);
+        drifted.setCounters(new HashMap<>(Map.of(Status.NEW.name(), 5L)));
+        drifted.setVersion(7L);
+        mongoTemplate.save(drifted);
+        afterAggregation = () -> {
+            insertTicket(Status.NEW);
+            mongoTemplate.upsert(Query.query(Criteria.where("id").is(SummaryCounter.TICKET_STATUS)),
+                    SummaryServiceImpl.transitionUpdate(null, Status.NEW), SummaryCounter.class);
+        };
+
+        summaryService.rebuild();
+
+        var counter = counter();
+        assertEquals(3L, counter.getCounters().get(Status.NEW.name()));
+        assertEquals(1L, counter.getCounters().get(Status.ASSIGNED.name()));
+        assertEquals(9L, counter.getVersion());
+        assertEquals(List.of(Map.of(Status.NEW, -3L, Status.ASSIGNED, 1L)), published);
+        assertEquals(1, aggregations);
+    }
+
+    @Test
+    void rebuildAppliesTheCorrectionWhileCountersKeepChanging() {
+        insertTicket(Status.CLOSED);
+        var drifted = new SummaryCounter();
+        drifted.setId(SummaryCounter.TICKET_STATUS);
+        drifted.setCounters(new HashMap<>(Map.of(Status.CLOSED.name(), 4L)));
+        drifted.setVersion(1L);
+        mongoTemplate.save(drifted);
+        afterAggregation = () -> {
+            for (int i = 0; i < 10; i++) {
+                insertTicket(Status.NEW);
+                mongoTemplate.upsert(Query.query(Criteria.where("id").is(SummaryCounter.TICKET_STATUS)),
+                        SummaryServiceImpl.transitionUpdate(null, Status.NEW), SummaryCounter.class);
+            }
+        };
+
+        summaryService.rebuild();
+
+        var counter = counter();
+        assertEquals(1L, counter.getCounters().get(Status.CLOSED.name()));
+        assertEquals(10L, counter.getCounters().get(Status.NEW.name()));
+        assertEquals(12L, counter.getVersion());
+        assertEquals(1, aggregations);
+    }
+
+    @Test
+    void rebuildLeavesConsistentCountersUntouched() {
+        insertTicket(Status.RESOLVED);
+        summaryService.rebuild();
+        published.clear();
+        var version = counter().getVersion();
+
+        summaryService.rebuild();
+
+        assertEquals(version, counter().getVersion());
+        assertTrue(published.isEmpty());
+    }
+
+    private SummaryCounter counter() {
+        return mongoTemplate.findById(SummaryCounter.TICKET_STATUS, SummaryCounter.class);
+    }
+
+    private void insertTicket(Status status) {
+        var ticket = new Ticket();
+        ticket.setTitle(status.name());
+        ticket.setStatus(status);
+        ticket.setDate(new Date());
+        mongoTemplate.insert(ticket);
+    }
+
+    private class RecordingFeedService implements TicketFeedService {
+
+        @Override
+        public void publish(TicketEvent.Type type, Ticket ticket, Status previousStatus) {
+        }
+
+        @Override
+        public void publishSummary(Map<Status, Long> delta) {
+            published.add(Map.copyOf(delta));
+        }
+
+        @Override
+        public Flux<TicketEvent> subscribe(User user) {
+            return Flux.empty();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package br.com.devisrael.helpdesk.service;
+
+import br.com.devisrael.helpdesk.api.dto.StatusChangeReport;
+import br.com.devisrael.helpdesk.api.dto.Summary;
+import br.com.devisrael.helpdesk.api.dto.TicketEvent;
+import br.com.devisrael.helpdesk.api.entity.Change;
+import br.com.devisrael.helpdesk.api.entity.Priority;
+import br.com.devisrael.helpdesk.api.entity.Profile;
+import br.com.devisrael.helpdesk.api.entity.Status;
+import br.com.devisrael.helpdesk.api.entity.Ticket;
+import br.com.devisrael.helpdesk.api.entity.User;
+import br.com.devisrael.helpdesk.repository.TicketQueries;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketServiceImplTests {
+
+    private MongoServer mongoServer;
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private Runnable beforeBulkWrite = () -> { };
+    private int bulkWrites;
+    private RecordingSummaryService summaryService;
+    private RecordingFeedService ticketFeedService;
+    private TicketServiceImpl ticketService;
+    private User technician;
+
+    @BeforeEach
+    void setUp() {
+        mongoServer = new MongoServer(new MemoryBackend());
+        mongoClient = MongoClients.create(mongoServer.bindAndGetConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "helpdesk");
+        var bulkTemplate = new MongoTemplate(mongoClient, "helpdesk") {
+            @Override
+            public BulkOperations bulkOps(BulkOperations.BulkMode mode, Class<?> entityClass) {
+                bulkWrites++;
+                beforeBulkWrite.run();
+                return super.bulkOps(mode, entityClass);
+            }
+        };
+        summaryService = new RecordingSummaryService();
+        ticketFeedService = new RecordingFeedService();
+        ticketService = new TicketServiceImpl();
+        ReflectionTestUtils.setField(ticketService, "mongoTemplate", bulkTemplate);
+        ReflectionTestUtils.setField(ticketService, "summaryService", summaryService);
+        ReflectionTestUtils.setField(ticketService, "ticketFeedService", ticketFeedService);
+        technician = new User();
+        technician.setId(new ObjectId().toHexString());
+        technician.setEmail("technician@helpdesk.com");
+        technician.setProfile(Profile.ROLE_TECHNICIAN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoClient.close();
+        mongoServer.shutdown();
+    }
+
+    @Test
+    void bulkChangeCountsEveryModifiedTicket() {
+        var first = insertTicket(1, Status.ASSIGNED);
+        var second = insertTicket(2, Status.ASSIGNED);
+
+        var report = ticketService.changeStatus(List.of(first, second, first), Status.RESOLVED, technician);
+
+        assertEquals(2, report.getChanged());
+        assertEquals(0, report.getRejected());
+        assertEquals(2, mongoTemplate.count(new Query(), Change.class));
+        assertEquals(List.of(Map.of(Status.ASSIGNED, -2L, Status.RESOLVED, 2L)), summaryService.added);
+        assertEquals(2, ticketFeedService.statusChanges());
+    }
+
+    @Test
+    void bulkChangeDoesNotClaimATransitionAppliedConcurrently() {
+        var changed = insertTicket(1, Status.ASSIGNED);
+        var raced = insertTicket(2, Status.ASSIGNED);
+        var removed = insertTicket(3, Status.ASSIGNED);
+        var racedVersion = mongoTemplate.findById(raced, Ticket.class).getVersion();
+        beforeBulkWrite = () -> {
+            mongoTemplate.findAndModify(TicketQueries.statusTransition(raced, Status.RESOLVED, racedVersion),
+                    TicketQueries.statusTransitionUpdate(Status.RESOLVED, null), Ticket.class);
+            mongoTemplate.remove(Query.query(Criteria.where("id").is(removed)), Ticket.class);
+        };
+
+        var report = ticketService.changeStatus(List.of(changed, raced, removed), Status.RESOLVED, technician);
+
+        assertEquals(1, report.getChanged());
+        assertEquals(2, report.getRejected());
+        assertEquals(StatusChangeReport.Outcome.CHANGED, outcomeOf(report, changed));
+        assertEquals(StatusChangeReport.Outcome.CONFLICT, outcomeOf(report, raced));
+        assertEquals(StatusChangeReport.Outcome.NOT_FOUND, outcomeOf(report, removed));
+        assertEquals(1, mongoTemplate.count(new Query(), Change.class));
+        assertEquals(List.of(Map.of(Status.ASSIGNED, -1L, Status.RESOLVED, 1L)), summaryService.added);
+        assertEquals(1, ticketFeedService.statusChanges());
+    }
+
+    @Test
+    void bulkChangePublishesTheSameTicketShapeAsASingleChange() {
+        var id = insertTicket(1, Status.NEW);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(id)), Update.update("priority", Priority.HIGH), Ticket.class);
+
+        ticketService.changeStatus(List.of(id), Status.ASSIGNED, technician);
+
+        var ticket = ticketFeedService.tickets.get(0);
+        assertEquals(1, ticket.getNumber());
+        assertEquals("Ticket 1", ticket.getTitle());
+        assertEquals(Priority.HIGH, ticket.getPriority());
+        assertEquals(Status.ASSIGNED, ticket.getStatus());
+        assertEquals(technician.getId(), ticket.getAssignedUser().getId());
+    }
+
+    @Test
+    void bulkChangeRejectsInvalidTransitionsWithoutWriting() {
+        var closed = insertTicket(1, Status.CLOSED);
+
+        var report = ticketService.changeStatus(List.of(closed, new ObjectId().toHexString()), Status.RESOLVED, technician);
+
+        assertEquals(0, report.getChanged());
+        assertEquals(2, report.getRejected());
+        assertEquals(0, bulkWrites);
+        assertTrue(summaryService.added.isEmpty());
+    }
+
+    private String insertTicket(int number, Status status) {
+        var ticket = new Ticket();
+        ticket.setNumber(number);
+        ticket.setTitle("Ticket " + number);
+        ticket.setStatus(status);
+        ticket.setDate(new Date());
+        return mongoTemplate.insert(ticket).getId();
+    }
+
+    private static StatusChangeReport.Outcome outcomeOf(StatusChangeReport report, String id) {
+        return report.getResults().stream()
+                .filter(result -> result.getId().equals(id))
+                .findFirst()
+                .orElseThrow()
+                .getOutcome();
+    }
+
+    private static class RecordingSummaryService implements SummaryService {
+
+        private final List<Map<Status, Long>> added = new ArrayList<>();
+
+        @Override
+        public Summary getSummary() {
+            return null;
+        }
+
+        @Override
+        public Long getVersion() {
+            return null;
+        }
+
+        @Override
+        public void increment(Status status) {
+        }
+
+        @Override
+        public void decrement(Status status) {
+        }
+
+        @Override
+        public void transition(Status from, Status to) {
+        }
+
+        @Override
+        public void add(Map<Status, Long> amounts) {
+            added.add(Map.copyOf(amounts));
+        }
+
+        @Override
+        public void rebuild() {
+        }
+    }
+
+    private static class RecordingFeedService implements TicketFeedService {
+
+        private final List<TicketEvent.Type> published = new ArrayList<>();
+        private final List<Ticket> tickets = new ArrayList<>();
+
+        @Override
+        public void publish(TicketEvent.Type type, Ticket ticket, Status previousStatus) {
+            published.add(type);
+            tickets.add(ticket);
+        }
+
+        @Override
+        public void publishSummary(Map<Status, Long> delta) {
+        }
+
+        @Override
+        public Flux<TicketEvent> subscribe(User user) {
+            return Flux.empty();
+        }
+
+        private long statusChanges() {
+            return published.stream().filter(TicketEvent.Type.STATUS_CHANGED::equals).count();
+        }
+    }
+}